@@ -1,13 +1,68 @@
 package batalskyi.technical.application;
 
+import batalskyi.technical.application.config.DataSourceConfig;
+import batalskyi.technical.application.export.BulkExporter;
+import batalskyi.technical.application.export.ExportTable;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.stream.Collectors;
+import org.springframework.boot.Banner;
 import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Import;
 
 @SpringBootApplication
 public class OrderApp {
 
   public static void main(String[] args) {
+    if (args.length > 0 && args[0].equals("export")) {
+      System.exit(export(args));
+    }
     SpringApplication.run(OrderApp.class, args);
   }
 
+  private static int export(String[] args) {
+    var tables = Arrays.stream(ExportTable.values())
+        .map(table -> table.name().toLowerCase(Locale.ROOT))
+        .collect(Collectors.joining("|"));
+    var usage = "Usage: export <" + tables + "> <name> [--spring.property=value...]";
+    if (args.length < 3) {
+      System.err.println(usage);
+      return 2;
+    }
+    final ExportTable table;
+    try {
+      table = ExportTable.valueOf(args[1].toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException e) {
+      System.err.println("Unknown table: " + args[1]);
+      System.err.println(usage);
+      return 2;
+    }
+    // only the pools and the exporter: no order resumption, rollup repair, outbox relay or
+    // archiving against a database a running server may be using
+    var context = new SpringApplicationBuilder(ExportCommand.class)
+        .web(WebApplicationType.NONE)
+        .bannerMode(Banner.Mode.OFF)
+        .run(Arrays.copyOfRange(args, 3, args.length));
+    var url = context.getEnvironment().getProperty("spring.datasource.read.url", "");
+    if (url.startsWith("jdbc:h2:mem:")) {
+      System.err.println("Refusing to export the in-memory database " + url
+          + ", set --spring.datasource.url to the database to export.");
+      return SpringApplication.exit(context, () -> 2);
+    }
+    var report = context.getBean(BulkExporter.class).export(table, args[2]);
+    System.out.printf("%s: %d rows in %d chunks (%d already done), %d bytes at %.2f MB/s%n",
+        report.getState(), report.getRows(), report.getChunks(), report.getChunksSkipped(),
+        report.getBytes(), report.getMegabytesPerSecond());
+    return SpringApplication.exit(context, () -> report.getError() == null ? 0 : 1);
+  }
+
+  @EnableConfigurationProperties(DataSourceProperties.class)
+  @Import({DataSourceConfig.class, BulkExporter.class})
+  static class ExportCommand {
+  }
 }
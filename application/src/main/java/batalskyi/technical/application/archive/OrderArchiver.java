@@ -0,0 +1,423 @@
+package batalskyi.technical.application.archive;
+
+import batalskyi.technical.application.dto.OrderArchiveDTO;
+import batalskyi.technical.application.dto.OrderResponseDTO;
+import batalskyi.technical.application.entity.ArchivedClientTotals;
+import batalskyi.technical.application.entity.OrderArchive;
+import batalskyi.technical.application.entity.OrderArchiveSection;
+import batalskyi.technical.application.repository.ArchivedClientTotalsRepository;
+import batalskyi.technical.application.repository.ArchivedOrderKeyRepository;
+import batalskyi.technical.application.repository.OrderArchiveRepository;
+import batalskyi.technical.application.repository.OrderArchiveSectionRepository;
+import batalskyi.technical.application.repository.OrderRepository;
+import batalskyi.technical.application.service.OrderService;
+import batalskyi.technical.application.util.LongLongHashMap;
+import batalskyi.technical.application.util.Money;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import javax.sql.DataSource;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Moves orders out of the {@code orders} table one calendar month at a time, once the month is
+ * older than the retention window. Every month is first written to a gzip file of
+ * newline-delimited JSON, grouped by client (see {@link OrderArchive}), and then, in the
+ * transaction that deletes its rows, folded into the per-client archived totals, so profits, the
+ * leaderboard and reconciliation keep counting the archived orders while the table and its
+ * indexes only hold recent ones. The file is deleted again if that transaction fails. Their
+ * business keys move to {@code archived_order_keys}, so archived orders cannot be created again.
+ */
+@Log4j2
+@Lazy(false)
+@Component
+public class OrderArchiver implements SmartLifecycle {
+
+  private static final String INSERT_SECTION = """
+      insert into order_archive_sections
+          (archive_id, client_id, sales, byte_offset, byte_length, order_count)
+      values (?, ?, ?, ?, ?, ?)
+      """;
+
+  private final OrderRepository orderRepository;
+  private final OrderArchiveRepository archiveRepository;
+  private final ArchivedClientTotalsRepository totalsRepository;
+  private final ArchivedOrderKeyRepository keyRepository;
+  private final OrderArchiveSectionRepository sectionRepository;
+  private final ObjectMapper objectMapper;
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate archiveTransaction;
+  private final TransactionTemplate readTransaction;
+  private final Path directory;
+  private final int retainMonths;
+  private final long intervalMillis;
+  private volatile ScheduledExecutorService scheduler;
+  private volatile List<OrderArchive> ungroupedArchives = List.of();
+
+  public OrderArchiver(OrderRepository orderRepository,
+      OrderArchiveRepository archiveRepository, ArchivedClientTotalsRepository totalsRepository,
+      ArchivedOrderKeyRepository keyRepository, OrderArchiveSectionRepository sectionRepository,
+      ObjectMapper objectMapper, DataSource dataSource,
+      PlatformTransactionManager transactionManager,
+      @Value("${order.archive.directory}") Path directory,
+      @Value("${order.archive.retain-months}") int retainMonths,
+      @Value("${order.archive.interval}") Duration interval) {
+    this.orderRepository = orderRepository;
+    this.archiveRepository = archiveRepository;
+    this.totalsRepository = totalsRepository;
+    this.keyRepository = keyRepository;
+    this.sectionRepository = sectionRepository;
+    this.objectMapper = objectMapper;
+    this.jdbcTemplate = new JdbcTemplate(dataSource);
+    this.archiveTransaction = new TransactionTemplate(transactionManager);
+    this.readTransaction = new TransactionTemplate(transactionManager);
+    this.readTransaction.setReadOnly(true);
+    this.directory = directory;
+    this.retainMonths = retainMonths;
+    this.intervalMillis = interval.toMillis();
+  }
+
+  /**
+   * Archives every month before the retention window that still has orders, oldest first.
+   */
+  public synchronized List<OrderArchiveDTO> archiveClosedMonths() {
+    var cutoff = YearMonth.now().minusMonths(retainMonths);
+    var archived = new ArrayList<OrderArchiveDTO>();
+    while (true) {
+      var oldest = orderRepository.findOldestCreatedAt().map(YearMonth::from);
+      if (oldest.isEmpty() || !oldest.get().isBefore(cutoff)) {
+        return archived;
+      }
+      archived.add(toDto(archive(oldest.get())));
+    }
+  }
+
+  private OrderArchive archive(YearMonth month) {
+    var startNanos = System.nanoTime();
+    var from = month.atDay(1).atStartOfDay();
+    var to = month.plusMonths(1).atDay(1).atStartOfDay();
+    var fileName = "orders-" + month + "-" + System.currentTimeMillis() + ".ndjson.gz";
+    var file = directory.resolve(fileName);
+    var written = readTransaction.execute(status -> write(file, from, to));
+    final OrderArchive archive;
+    try {
+      archive = archiveTransaction.execute(status -> {
+        var totals = written.totals();
+        var keys = keyRepository.copyKeysCreatedBetween(from, to);
+        var deleted = orderRepository.deleteCreatedBetween(from, to);
+        if (keys != totals.orderCount) {
+          throw new IllegalStateException("Archived " + totals.orderCount + " orders of "
+              + month + " but kept " + keys + " business keys.");
+        }
+        if (deleted != totals.orderCount) {
+          throw new IllegalStateException("Archived " + totals.orderCount + " orders of "
+              + month + " but " + deleted + " were deleted.");
+        }
+        totals.orderCounts.forEach((clientId, orderCount) -> addTotals(clientId, orderCount,
+            totals));
+        var saved = archiveRepository.save(new OrderArchive(month.atDay(1), fileName,
+            totals.orderCount));
+        jdbcTemplate.batchUpdate(INSERT_SECTION, written.sections().stream()
+            .map(section -> new Object[] {saved.getId(), section.clientId(), section.sales(),
+                section.offset(), section.length(), section.orderCount()})
+            .toList());
+        return saved;
+      });
+    } catch (RuntimeException e) {
+      delete(file);
+      throw e;
+    }
+    log.info("Archived {} orders of {} to {} in {} ms.", archive.getOrderCount(), month,
+        fileName, (System.nanoTime() - startNanos) / 1_000_000);
+    return archive;
+  }
+
+  /**
+   * Writes the orders of a month grouped by supplier and then grouped by consumer, every group a
+   * gzip member of its own.
+   */
+  private WrittenMonth write(Path file, LocalDateTime from, LocalDateTime to) {
+    var partFile = directory.resolve(file.getFileName() + ".part");
+    var totals = new MonthTotals();
+    var sections = new ArrayList<Section>();
+    try {
+      Files.createDirectories(directory);
+      try (var out = new BufferedOutputStream(Files.newOutputStream(partFile))) {
+        long offset;
+        try (var orders = orderRepository.streamDtosCreatedBetweenBySupplier(from, to)) {
+          offset = writeSections(orders.peek(totals::add), true, out, 0, sections);
+        }
+        try (var orders = orderRepository.streamDtosCreatedBetweenByConsumer(from, to)) {
+          writeSections(orders, false, out, offset, sections);
+        }
+      }
+      var purchases = sections.stream().filter(section -> !section.sales())
+          .mapToLong(Section::orderCount).sum();
+      if (purchases != totals.orderCount) {
+        throw new IllegalStateException("Archived " + totals.orderCount + " orders by supplier"
+            + " but " + purchases + " by consumer.");
+      }
+      Files.move(partFile, file, StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException e) {
+      delete(partFile);
+      throw new UncheckedIOException(e);
+    } catch (RuntimeException e) {
+      delete(partFile);
+      throw e;
+    }
+    return new WrittenMonth(totals, sections);
+  }
+
+  private long writeSections(Stream<OrderResponseDTO> orders, boolean sales, OutputStream out,
+      long offset, List<Section> sections) throws IOException {
+    var member = new ByteArrayOutputStream();
+    SequenceWriter writer = null;
+    Long clientId = null;
+    var orderCount = 0L;
+    for (var order : (Iterable<OrderResponseDTO>) orders::iterator) {
+      var orderClientId = sales ? order.getSupplierId() : order.getConsumerId();
+      if (!orderClientId.equals(clientId)) {
+        if (writer != null) {
+          writer.close();
+          offset = appendSection(member, out, offset,
+              new Section(clientId, sales, offset, member.size(), orderCount), sections);
+        }
+        writer = objectMapper.writer().withRootValueSeparator("\n")
+            .writeValues(new GZIPOutputStream(member));
+        clientId = orderClientId;
+        orderCount = 0;
+      }
+      writer.write(order);
+      orderCount++;
+    }
+    if (writer != null) {
+      writer.close();
+      offset = appendSection(member, out, offset,
+          new Section(clientId, sales, offset, member.size(), orderCount), sections);
+    }
+    return offset;
+  }
+
+  private static long appendSection(ByteArrayOutputStream member, OutputStream out, long offset,
+      Section section, List<Section> sections) throws IOException {
+    member.writeTo(out);
+    member.reset();
+    sections.add(section);
+    return offset + section.length();
+  }
+
+  private static void delete(Path file) {
+    try {
+      Files.deleteIfExists(file);
+    } catch (IOException e) {
+      log.warn("Could not delete {}.", file, e);
+    }
+  }
+
+  private void addTotals(long clientId, long orderCount, MonthTotals totals) {
+    var sales = Money.ofMinor(totals.sales.get(clientId)).toBigDecimal();
+    var purchases = Money.ofMinor(totals.purchases.get(clientId)).toBigDecimal();
+    if (totalsRepository.addTotals(clientId, sales, purchases, orderCount) == 0) {
+      totalsRepository.save(new ArchivedClientTotals(clientId, sales, purchases, orderCount));
+    }
+  }
+
+  private void archiveQuietly() {
+    try {
+      archiveClosedMonths();
+    } catch (RuntimeException e) {
+      log.error("Order archival failed.", e);
+    }
+  }
+
+  public List<OrderArchiveDTO> getArchives() {
+    return archiveRepository.findAllByOrderByMonthStart().stream().map(this::toDto).toList();
+  }
+
+  private OrderArchiveDTO toDto(OrderArchive archive) {
+    return new OrderArchiveDTO(archive.getMonthStart(), archive.getFileName(),
+        archive.getOrderCount(), archive.getArchivedAt());
+  }
+
+  /**
+   * Reads the archived orders of a client, oldest month first: its own sections of the grouped
+   * files, after a scan of the files archived before the orders were grouped.
+   */
+  public void collectOrders(Long clientId, List<OrderResponseDTO> sales,
+      List<OrderResponseDTO> purchases) {
+    for (var archive : ungroupedArchives) {
+      forEachOrder(archive, order -> {
+        if (order.getSupplierId().equals(clientId)) {
+          sales.add(order);
+        } else if (order.getConsumerId().equals(clientId)) {
+          purchases.add(order);
+        }
+      });
+    }
+    for (var section : sectionRepository.findByClientId(clientId)) {
+      readSection(section, section.isSales() ? sales : purchases);
+    }
+  }
+
+  private void readSection(OrderArchiveSection section, List<OrderResponseDTO> orders) {
+    byte[] member;
+    try (var file = Files.newInputStream(directory.resolve(
+        section.getArchive().getFileName()))) {
+      file.skipNBytes(section.getByteOffset());
+      member = file.readNBytes(section.getByteLength());
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    readOrders(new ByteArrayInputStream(member), Long.MAX_VALUE, orders::add);
+  }
+
+  /**
+   * Streams every archived order, oldest month first.
+   */
+  public void forEachArchivedOrder(Consumer<OrderResponseDTO> action) {
+    for (var archive : archiveRepository.findAllByOrderByMonthStart()) {
+      forEachOrder(archive, action);
+    }
+  }
+
+  private void forEachOrder(OrderArchive archive, Consumer<OrderResponseDTO> action) {
+    try (var file = new BufferedInputStream(Files.newInputStream(
+        directory.resolve(archive.getFileName())))) {
+      // a grouped file holds every order twice, grouped by supplier first
+      readOrders(file, archive.getOrderCount(), action);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private void readOrders(InputStream compressed, long limit,
+      Consumer<OrderResponseDTO> action) {
+    try (var in = new GZIPInputStream(compressed);
+        var orders = objectMapper.readerFor(OrderResponseDTO.class)
+            .<OrderResponseDTO>readValues(in)) {
+      for (var read = 0L; read < limit && orders.hasNext(); read++) {
+        action.accept(orders.next());
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Start of the first month whose orders are still in the {@code orders} table, or the epoch
+   * when nothing has been archived yet.
+   */
+  public LocalDateTime liveFrom() {
+    return archiveRepository.findTopByOrderByMonthStartDesc()
+        .map(archive -> archive.getMonthStart().plusMonths(1).atStartOfDay())
+        .orElse(LocalDate.EPOCH.atStartOfDay());
+  }
+
+  /**
+   * Archives written before the business keys were kept have none; reads them back from the
+   * files.
+   */
+  private void backfillKeys() {
+    var archivedOrders = archiveRepository.sumOrderCount();
+    if (keyRepository.count() == archivedOrders) {
+      return;
+    }
+    var keys = new ArrayList<Object[]>();
+    forEachArchivedOrder(order -> keys.add(new Object[] {order.getTitle(),
+        order.getSupplierId(), order.getConsumerId()}));
+    archiveTransaction.executeWithoutResult(status -> {
+      jdbcTemplate.update("delete from archived_order_keys");
+      jdbcTemplate.batchUpdate("""
+          insert into archived_order_keys (title, supplier_id, consumer_id) values (?, ?, ?)
+          """, keys);
+    });
+    log.info("Restored {} business keys of archived orders from the archive files.",
+        keys.size());
+  }
+
+  @Override
+  public void start() {
+    backfillKeys();
+    // archives are only ever added grouped, so the ungrouped ones are known from here on
+    ungroupedArchives = archiveRepository.findAllByClientSectionsIsNullOrderByMonthStart();
+    scheduler = Executors.newSingleThreadScheduledExecutor(
+        Thread.ofPlatform().name("order-archiver").daemon().factory());
+    scheduler.scheduleWithFixedDelay(this::archiveQuietly, intervalMillis, intervalMillis,
+        TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public void stop() {
+    scheduler.shutdownNow();
+    scheduler = null;
+  }
+
+  @Override
+  public boolean isRunning() {
+    return scheduler != null;
+  }
+
+  /**
+   * Starts before OrderService accepts orders, so the archived business keys are complete.
+   */
+  @Override
+  public int getPhase() {
+    return OrderService.PHASE - 1;
+  }
+
+  private record WrittenMonth(MonthTotals totals, List<Section> sections) {
+
+  }
+
+  private record Section(Long clientId, boolean sales, long offset, int length,
+      long orderCount) {
+
+  }
+
+  private static final class MonthTotals {
+
+    private final LongLongHashMap sales = new LongLongHashMap();
+    private final LongLongHashMap purchases = new LongLongHashMap();
+    private final LongLongHashMap orderCounts = new LongLongHashMap();
+    private long orderCount;
+
+    private void add(OrderResponseDTO order) {
+      var priceMinor = Money.toMinor(order.getPrice());
+      sales.addTo(order.getSupplierId(), priceMinor);
+      purchases.addTo(order.getConsumerId(), priceMinor);
+      orderCounts.addTo(order.getSupplierId(), 1);
+      orderCounts.addTo(order.getConsumerId(), 1);
+      orderCount++;
+    }
+  }
+}
@@ -0,0 +1,52 @@
+package batalskyi.technical.application.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * Two Hikari pools behind one lazy proxy: read-only transactions take their connection from the
+ * read pool (optionally pointing at a replica), everything else from the write pool, so long
+ * order transactions and analytics reads no longer wait on each other's connections.
+ */
+@Configuration
+public class DataSourceConfig {
+
+  @Bean
+  @ConfigurationProperties("spring.datasource.hikari")
+  public HikariDataSource writeDataSource(DataSourceProperties properties) {
+    return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+  }
+
+  @Bean
+  @ConfigurationProperties("spring.datasource.read.hikari")
+  public HikariDataSource readDataSource(DataSourceProperties properties,
+      @Value("${spring.datasource.read.url}") String url,
+      @Value("${spring.datasource.read.username}") String username,
+      @Value("${spring.datasource.read.password}") String password) {
+    return DataSourceBuilder.create()
+        .type(HikariDataSource.class)
+        .driverClassName(properties.determineDriverClassName())
+        .url(url)
+        .username(username)
+        .password(password)
+        .build();
+  }
+
+  @Bean
+  @Primary
+  public DataSource dataSource(@Qualifier("writeDataSource") DataSource writeDataSource,
+      @Qualifier("readDataSource") DataSource readDataSource) {
+    var dataSource = new LazyConnectionDataSourceProxy(writeDataSource);
+    dataSource.setReadOnlyDataSource(readDataSource);
+    return dataSource;
+  }
+}
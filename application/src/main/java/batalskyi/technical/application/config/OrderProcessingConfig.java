@@ -0,0 +1,45 @@
+package batalskyi.technical.application.config;
+
+import batalskyi.technical.application.processing.DelayedOrderProcessor;
+import batalskyi.technical.application.processing.ProcessingDelay;
+import batalskyi.technical.application.service.OrderService;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class OrderProcessingConfig {
+
+  @Bean
+  public ProcessingDelay processingDelay(
+      @Value("${order.processing.delay.type}") String type,
+      @Value("${order.processing.delay.fixed}") Duration fixed,
+      @Value("${order.processing.delay.min}") Duration min,
+      @Value("${order.processing.delay.max}") Duration max,
+      @Value("${order.processing.delay.trace-file:}") String traceFile) throws IOException {
+    return switch (type.toLowerCase()) {
+      case "fixed" -> ProcessingDelay.fixed(fixed);
+      case "uniform" -> ProcessingDelay.uniform(min, max);
+      case "trace" -> ProcessingDelay.replay(Files.readAllLines(Path.of(traceFile)).stream()
+          .map(String::strip)
+          .filter(line -> !line.isEmpty() && !line.startsWith("#"))
+          .map(line -> Duration.ofMillis(Long.parseLong(line)))
+          .toList());
+      default -> throw new IllegalStateException("Unknown processing delay type: " + type);
+    };
+  }
+
+  // the concrete type lets the lazy prod profile see the SmartLifecycle before the bean exists
+  @Bean
+  public DelayedOrderProcessor orderProcessor(ProcessingDelay processingDelay,
+      @Value("${order.processing.timer-threads}") int timerThreads,
+      @Value("${order.processing.resume-threads}") int resumeThreads) {
+    // stops right after OrderService has settled the orders still in flight
+    return new DelayedOrderProcessor(processingDelay, timerThreads, resumeThreads,
+        OrderService.PHASE - 1);
+  }
+}
@@ -0,0 +1,30 @@
+package batalskyi.technical.application.config;
+
+import batalskyi.technical.application.outbox.FileOutboxSink;
+import batalskyi.technical.application.outbox.HttpOutboxSink;
+import batalskyi.technical.application.outbox.OutboxSink;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class OutboxConfig {
+
+  // chosen when the bean is created, not by a condition, so an AOT build can still switch sinks
+  @Bean
+  public OutboxSink outboxSink(ObjectMapper objectMapper,
+      @Value("${order.outbox.sink.type}") String type,
+      @Value("${order.outbox.sink.file}") Path file,
+      @Value("${order.outbox.sink.url}") URI url,
+      @Value("${order.outbox.sink.timeout}") Duration timeout) {
+    return switch (type.toLowerCase()) {
+      case "file" -> new FileOutboxSink(objectMapper, file);
+      case "http" -> new HttpOutboxSink(objectMapper, url, timeout);
+      default -> throw new IllegalStateException("Unknown outbox sink type: " + type);
+    };
+  }
+}
@@ -0,0 +1,42 @@
+package batalskyi.technical.application.config;
+
+import batalskyi.technical.application.diagnostics.SqlStatementCountingDataSource;
+import batalskyi.technical.application.diagnostics.SqlStatementCountingFilter;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+@ConditionalOnProperty(name = "diagnostics.sql.enabled", havingValue = "true")
+public class SqlDiagnosticsConfig {
+
+  // wraps the pools rather than the routing proxy, so JdbcTemplates built on one pool count too
+  @Bean
+  public static BeanPostProcessor sqlStatementCountingDataSources() {
+    return new BeanPostProcessor() {
+      @Override
+      public Object postProcessAfterInitialization(Object bean, String beanName) {
+        return bean instanceof HikariDataSource dataSource
+            ? new SqlStatementCountingDataSource(dataSource) : bean;
+      }
+    };
+  }
+
+  @Bean
+  public FilterRegistrationBean<SqlStatementCountingFilter> sqlStatementCountingFilter(
+      MeterRegistry meterRegistry,
+      @Value("${diagnostics.sql.max-statements-per-request}") int maxStatements,
+      @Value("${diagnostics.sql.max-repeats-per-request}") int maxRepeats) {
+    var registration = new FilterRegistrationBean<>(
+        new SqlStatementCountingFilter(meterRegistry, maxStatements, maxRepeats));
+    registration.addUrlPatterns("/api/*");
+    registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+    return registration;
+  }
+}
@@ -0,0 +1,18 @@
+package batalskyi.technical.application.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+@Configuration
+public class WebConfig {
+
+  @Bean
+  public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(
+      Jackson2ObjectMapperBuilder objectMapperBuilder) {
+    return new MappingJackson2CborHttpMessageConverter(
+        objectMapperBuilder.factory(new CBORFactory()).build());
+  }
+}
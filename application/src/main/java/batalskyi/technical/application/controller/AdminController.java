@@ -0,0 +1,117 @@
+package batalskyi.technical.application.controller;
+
+import batalskyi.technical.application.archive.OrderArchiver;
+import batalskyi.technical.application.dto.ExportReportDTO;
+import batalskyi.technical.application.dto.OrderArchiveDTO;
+import batalskyi.technical.application.dto.ReconciliationReportDTO;
+import batalskyi.technical.application.export.BulkExporter;
+import batalskyi.technical.application.export.ExportTable;
+import batalskyi.technical.application.jfr.FlightRecordingDumper;
+import batalskyi.technical.application.reconciliation.ProfitReconciliationJob;
+import batalskyi.technical.application.service.ProfitRollupService;
+import io.swagger.v3.oas.annotations.Operation;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/admin")
+public class AdminController {
+
+  private final FlightRecordingDumper flightRecordingDumper;
+  private final ProfitReconciliationJob profitReconciliationJob;
+  private final OrderArchiver orderArchiver;
+  private final BulkExporter bulkExporter;
+  private final ProfitRollupService profitRollupService;
+
+  @Operation(summary = "Dump flight recording",
+      description = "Download the data of the running JFR recordings,"
+          + " optionally limited to the last maxAge (ISO-8601, e.g. PT10M).")
+  @PostMapping(value = "/jfr/dump", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+  public ResponseEntity<StreamingResponseBody> dumpFlightRecording(
+      @RequestParam(required = false) Duration maxAge) {
+    var file = flightRecordingDumper.dump(maxAge);
+    StreamingResponseBody body = out -> {
+      try {
+        Files.copy(file, out);
+      } finally {
+        Files.deleteIfExists(file);
+      }
+    };
+    return ResponseEntity.status(HttpStatus.OK)
+        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+        .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+            .filename(file.getFileName().toString()).build().toString())
+        .body(body);
+  }
+
+  @Operation(summary = "Start profit reconciliation",
+      description = "Recompute every client's profit from the orders and compare it with the"
+          + " leaderboard and the daily rollups; with repair, correct the leaderboard.")
+  @PostMapping("/reconciliation")
+  public ResponseEntity<ReconciliationReportDTO> startReconciliation(
+      @RequestParam(defaultValue = "false") boolean repair) {
+    return ResponseEntity.status(HttpStatus.ACCEPTED).body(profitReconciliationJob.start(repair));
+  }
+
+  @Operation(summary = "Get profit reconciliation",
+      description = "Progress and findings of the latest profit reconciliation.")
+  @GetMapping("/reconciliation")
+  public ResponseEntity<ReconciliationReportDTO> getReconciliation() {
+    return ResponseEntity.status(HttpStatus.OK).body(profitReconciliationJob.status());
+  }
+
+  @Operation(summary = "Repair profit rollups",
+      description = "Rebuild the rollups of the live months from the orders table and those of"
+          + " archived months from the archive files if they disagree with the archived totals.")
+  @PostMapping("/rollups/repair")
+  public ResponseEntity<Void> repairRollups() {
+    profitRollupService.repair();
+    return ResponseEntity.noContent().build();
+  }
+
+  @Operation(summary = "Archive orders",
+      description = "Archive the orders of every month before the retention window now"
+          + " and return the archives created.")
+  @PostMapping("/archives")
+  public ResponseEntity<List<OrderArchiveDTO>> archiveOrders() {
+    return ResponseEntity.status(HttpStatus.OK).body(orderArchiver.archiveClosedMonths());
+  }
+
+  @Operation(summary = "Get order archives",
+      description = "List the archived months of orders.")
+  @GetMapping("/archives")
+  public ResponseEntity<List<OrderArchiveDTO>> getArchives() {
+    return ResponseEntity.status(HttpStatus.OK).body(orderArchiver.getArchives());
+  }
+
+  @Operation(summary = "Start export",
+      description = "Export a table (ORDERS or CLIENTS) to gzip compressed CSV chunk files under"
+          + " the export directory in <name>/<table>. Running an export with the same name"
+          + " again resumes it.")
+  @PostMapping("/exports")
+  public ResponseEntity<ExportReportDTO> startExport(@RequestParam ExportTable table,
+      @RequestParam String name) {
+    return ResponseEntity.status(HttpStatus.ACCEPTED).body(bulkExporter.start(table, name));
+  }
+
+  @Operation(summary = "Get export",
+      description = "Progress and throughput of the latest export.")
+  @GetMapping("/exports")
+  public ResponseEntity<ExportReportDTO> getExport() {
+    return ResponseEntity.status(HttpStatus.OK).body(bulkExporter.status());
+  }
+}
@@ -2,24 +2,43 @@ package batalskyi.technical.application.controller;
 
 import batalskyi.technical.application.dto.ClientCreateOrUpdateDTO;
 import batalskyi.technical.application.dto.ClientDTO;
+import batalskyi.technical.application.dto.ClientImportResultDTO;
+import batalskyi.technical.application.dto.ClientProfitDTO;
 import batalskyi.technical.application.dto.ClientWithProfitDTO;
-import batalskyi.technical.application.entity.Client;
+import batalskyi.technical.application.leaderboard.ProfitLeaderboard;
+import batalskyi.technical.application.service.ClientImportService;
 import batalskyi.technical.application.service.ClientService;
+import batalskyi.technical.application.service.ProfitRollupService;
+import batalskyi.technical.application.streaming.RowArrayStreamer;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import jakarta.validation.Valid;
+import java.io.InputStream;
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequiredArgsConstructor
@@ -27,6 +46,10 @@ import org.springframework.web.bind.annotation.RestController;
 public class ClientController {
 
   private final ClientService clientService;
+  private final ClientImportService clientImportService;
+  private final ProfitRollupService profitRollupService;
+  private final ProfitLeaderboard profitLeaderboard;
+  private final RowArrayStreamer rowArrayStreamer;
 
   @Operation(summary = "Create client",
       description = "Create new Client.")
@@ -36,27 +59,63 @@ public class ClientController {
     return ResponseEntity.status(HttpStatus.CREATED).body(clientService.createClient(clientDTO));
   }
 
+  @Operation(summary = "Import clients",
+      description = "Create clients from NDJSON (one client per line) or CSV (header with name,"
+          + " email, address and optionally active). Returns the result of every line.")
+  @ApiResponse(responseCode = "200", content = @Content(
+      array = @ArraySchema(schema = @Schema(implementation = ClientImportResultDTO.class))))
+  @PostMapping(value = "/importClients", consumes = {MediaType.APPLICATION_NDJSON_VALUE,
+      "text/csv"}, produces = {MediaType.APPLICATION_JSON_VALUE,
+      MediaType.APPLICATION_CBOR_VALUE})
+  public ResponseEntity<StreamingResponseBody> importClients(InputStream body,
+      @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+      NativeWebRequest request) throws HttpMediaTypeNotAcceptableException {
+    var format = rowArrayStreamer.negotiate(request);
+    return ResponseEntity.status(HttpStatus.OK).contentType(format)
+        .body(rowArrayStreamer.stream(clientImportService.importClients(body, contentType),
+            format));
+  }
+
   @Operation(summary = "Get clients",
       description = "Get list of clients.")
-  @GetMapping("/getAllClients")
-  public ResponseEntity<List<ClientDTO>> getAllClients() {
-    return ResponseEntity.status(HttpStatus.OK).body(clientService.getAllClients());
+  @ApiResponse(responseCode = "200", content = @Content(
+      array = @ArraySchema(schema = @Schema(implementation = ClientDTO.class))))
+  @GetMapping(value = "/getAllClients", produces = {MediaType.APPLICATION_JSON_VALUE,
+      MediaType.APPLICATION_CBOR_VALUE})
+  public ResponseEntity<StreamingResponseBody> getAllClients(NativeWebRequest request)
+      throws HttpMediaTypeNotAcceptableException {
+    var format = rowArrayStreamer.negotiate(request);
+    return ResponseEntity.status(HttpStatus.OK).contentType(format)
+        .body(rowArrayStreamer.stream(clientService.streamAllClients(), format));
   }
 
   @Operation(summary = "Find clients",
       description = "Filter clients by name, email or address."
           + " One filter at a time, at least 3 symbols to filter list.")
-  @GetMapping("/findClients")
-  public ResponseEntity<List<ClientDTO>> searchClients(@RequestParam String field,
-      @RequestParam String text) {
-    return ResponseEntity.status(HttpStatus.OK).body(clientService.searchClients(field, text));
+  @ApiResponse(responseCode = "200", content = @Content(
+      array = @ArraySchema(schema = @Schema(implementation = ClientDTO.class))))
+  @GetMapping(value = "/findClients", produces = {MediaType.APPLICATION_JSON_VALUE,
+      MediaType.APPLICATION_CBOR_VALUE})
+  public ResponseEntity<StreamingResponseBody> searchClients(@RequestParam String field,
+      @RequestParam String text,
+      NativeWebRequest request) throws HttpMediaTypeNotAcceptableException {
+    var format = rowArrayStreamer.negotiate(request);
+    return ResponseEntity.status(HttpStatus.OK).contentType(format)
+        .body(rowArrayStreamer.stream(clientService.streamClients(field, text), format));
   }
 
   @Operation(summary = "Get client",
       description = "Get client by his id.")
   @GetMapping("/getClient/{id}")
-  public ResponseEntity<Client> getClient(@PathVariable Long id) {
-    return ResponseEntity.status(HttpStatus.OK).body(clientService.getClientById(id));
+  public ResponseEntity<ClientDTO> getClient(@PathVariable Long id) {
+    return ResponseEntity.status(HttpStatus.OK).body(clientService.getClientDtoById(id));
+  }
+
+  @Operation(summary = "Get clients by ids",
+      description = "Get clients by a list of ids. Unknown ids are left out of the response.")
+  @GetMapping("/getClients")
+  public ResponseEntity<List<ClientDTO>> getClients(@RequestParam List<Long> ids) {
+    return ResponseEntity.status(HttpStatus.OK).body(clientService.getClientsByIds(ids));
   }
 
   @Operation(summary = "Update client",
@@ -80,12 +139,61 @@ public class ClientController {
     return ResponseEntity.status(HttpStatus.OK).body(clientService.getProfitById(id));
   }
 
+  @Operation(summary = "Get client's profit for a period",
+      description = "Get profit of the client from orders created between two dates, inclusive.")
+  @GetMapping("/getProfitForPeriod/{id}")
+  public ResponseEntity<BigDecimal> getProfitForPeriod(@PathVariable Long id,
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+    return ResponseEntity.status(HttpStatus.OK)
+        .body(profitRollupService.getProfitForPeriod(id, from, to));
+  }
+
+  @Operation(summary = "Get client's profit as of a moment",
+      description = "Get profit of the client from orders created before the given time.")
+  @GetMapping("/getProfitAsOf/{id}")
+  public ResponseEntity<BigDecimal> getProfitAsOf(@PathVariable Long id,
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime asOf) {
+    return ResponseEntity.status(HttpStatus.OK)
+        .body(profitRollupService.getProfitAsOf(id, asOf));
+  }
+
+  @Operation(summary = "Get profits of clients",
+      description = "Get profits of clients by a list of ids. Unknown ids are left out of the"
+          + " response.")
+  @GetMapping("/getProfits")
+  public ResponseEntity<List<ClientProfitDTO>> getProfits(@RequestParam List<Long> ids) {
+    return ResponseEntity.status(HttpStatus.OK).body(clientService.getProfitsByIds(ids));
+  }
+
+  @Operation(summary = "Get top clients by profit",
+      description = "Get active clients with the highest profit, best first.")
+  @GetMapping("/getTopClients")
+  public ResponseEntity<List<ClientProfitDTO>> getTopClients(
+      @RequestParam(defaultValue = "10") int limit) {
+    return ResponseEntity.status(HttpStatus.OK).body(profitLeaderboard.top(limit));
+  }
+
+  @Operation(summary = "Get bottom clients by profit",
+      description = "Get active clients with the lowest profit, lowest first.")
+  @GetMapping("/getBottomClients")
+  public ResponseEntity<List<ClientProfitDTO>> getBottomClients(
+      @RequestParam(defaultValue = "10") int limit) {
+    return ResponseEntity.status(HttpStatus.OK).body(profitLeaderboard.bottom(limit));
+  }
+
   @Operation(summary = "Get clients in the profit range",
       description = "Get list of clients that have profit in specific range.")
-  @GetMapping("/searchClientsInProfitRange")
-  public ResponseEntity<List<ClientWithProfitDTO>> searchClientsInProfitRange(@RequestParam BigDecimal min,
-      @RequestParam BigDecimal max) {
-    return ResponseEntity.status(HttpStatus.OK)
-        .body(clientService.searchClientsInProfitRange(min, max));
+  @ApiResponse(responseCode = "200", content = @Content(
+      array = @ArraySchema(schema = @Schema(implementation = ClientWithProfitDTO.class))))
+  @GetMapping(value = "/searchClientsInProfitRange", produces = {MediaType.APPLICATION_JSON_VALUE,
+      MediaType.APPLICATION_CBOR_VALUE})
+  public ResponseEntity<StreamingResponseBody> searchClientsInProfitRange(
+      @RequestParam BigDecimal min, @RequestParam BigDecimal max,
+      NativeWebRequest request) throws HttpMediaTypeNotAcceptableException {
+    var format = rowArrayStreamer.negotiate(request);
+    var clients = clientService.streamClientsInProfitRange(min, max);
+    return ResponseEntity.status(HttpStatus.OK).contentType(format)
+        .body(rowArrayStreamer.stream(clients, format));
   }
 }
@@ -0,0 +1,37 @@
+package batalskyi.technical.application.controller;
+
+import batalskyi.technical.application.events.ClientEventBroadcaster;
+import batalskyi.technical.application.events.OverflowPolicy;
+import io.swagger.v3.oas.annotations.Operation;
+import java.util.List;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/events")
+public class EventController {
+
+  private final ClientEventBroadcaster clientEventBroadcaster;
+
+  @Value("${order.events.overflow-policy}")
+  private OverflowPolicy defaultOverflowPolicy;
+
+  @Operation(summary = "Subscribe to events",
+      description = "Server-sent events: order-committed, order-rejected, client-deactivated and"
+          + " profit-changed. Pass clientId (repeatable) to receive only events of these clients.")
+  @GetMapping(value = "/subscribe", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public SseEmitter subscribe(@RequestParam(required = false) List<Long> clientId,
+      @RequestParam(required = false) OverflowPolicy overflow) {
+    var clientIds = clientId == null ? Set.<Long>of() : Set.copyOf(clientId);
+    return clientEventBroadcaster.subscribe(clientIds,
+        overflow == null ? defaultOverflowPolicy : overflow);
+  }
+}
@@ -2,19 +2,34 @@ package batalskyi.technical.application.controller;
 
 import batalskyi.technical.application.dto.OrderDTO;
 import batalskyi.technical.application.dto.OrderResponseDTO;
+import batalskyi.technical.application.limiter.AdaptiveConcurrencyLimiter;
+import batalskyi.technical.application.limiter.ClientRateLimiter;
 import batalskyi.technical.application.service.OrderService;
+import batalskyi.technical.application.streaming.RowArrayStreamer;
 import io.swagger.v3.oas.annotations.Operation;
-import java.util.List;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.QueryTimeoutException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequiredArgsConstructor
@@ -22,25 +37,64 @@ import org.springframework.web.bind.annotation.RestController;
 public class OrderController {
 
   private final OrderService orderService;
+  private final RowArrayStreamer rowArrayStreamer;
+  private final AdaptiveConcurrencyLimiter orderAdmissionLimiter;
+  private final ClientRateLimiter clientRateLimiter;
 
   @Operation(summary = "Create order",
       description = "Create order.")
   @PostMapping("/createOrder")
-  public ResponseEntity<OrderResponseDTO> createOrder(@RequestBody OrderDTO orderDTO) {
-    return ResponseEntity.status(HttpStatus.OK).body(orderService.createOrder(orderDTO));
+  public CompletableFuture<ResponseEntity<OrderResponseDTO>> createOrder(
+      @RequestBody OrderDTO orderDTO) {
+    clientRateLimiter.checkOrderSubmission(orderDTO.getSupplierId(), orderDTO.getConsumerId());
+    var permit = orderAdmissionLimiter.acquire();
+    final CompletableFuture<OrderResponseDTO> order;
+    try {
+      order = orderService.createOrder(orderDTO);
+    } catch (RuntimeException e) {
+      if (isDropped(e)) {
+        permit.onDropped();
+      } else {
+        permit.release();
+      }
+      throw e;
+    }
+    // the permit only covers validation and the pending insert, not the processing delay
+    permit.onHandled();
+    return order.whenComplete((response, e) -> {
+          if (e != null && isDropped(e)) {
+            permit.onDropped();
+          }
+        })
+        .thenApply(response -> ResponseEntity.status(HttpStatus.OK).body(response));
+  }
+
+  private static boolean isDropped(Throwable e) {
+    var cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+    return cause instanceof CannotCreateTransactionException
+        || cause instanceof QueryTimeoutException;
   }
 
   @Operation(summary = "Get orders",
       description = "Get list of orders.")
-  @GetMapping("/getAllOrders")
-  public ResponseEntity<List<OrderResponseDTO>> getAllOrders() {
-    return ResponseEntity.status(HttpStatus.OK).body(orderService.getAllOrders());
+  @ApiResponse(responseCode = "200", content = @Content(
+      array = @ArraySchema(schema = @Schema(implementation = OrderResponseDTO.class))))
+  @GetMapping(value = "/getAllOrders", produces = {MediaType.APPLICATION_JSON_VALUE,
+      MediaType.APPLICATION_CBOR_VALUE})
+  public ResponseEntity<StreamingResponseBody> getAllOrders(NativeWebRequest request)
+      throws HttpMediaTypeNotAcceptableException {
+    var format = rowArrayStreamer.negotiate(request);
+    return ResponseEntity.status(HttpStatus.OK).contentType(format)
+        .body(rowArrayStreamer.stream(orderService.streamAllOrders(), format));
   }
 
   @Operation(summary = "Get client's orders",
-      description = "Get a list of orders in which this client participated.")
+      description = "Get a list of orders in which this client participated. Archived orders"
+          + " are only read with includeArchived=true.")
   @GetMapping("/getOrdersForClient/{clientId}")
-  public ResponseEntity<Map<String, Object>> getOrdersByClient(@PathVariable Long clientId) {
-    return ResponseEntity.status(HttpStatus.OK).body(orderService.getAllOrdersByClientId(clientId));
+  public ResponseEntity<Map<String, Object>> getOrdersByClient(@PathVariable Long clientId,
+      @RequestParam(defaultValue = "false") boolean includeArchived) {
+    return ResponseEntity.status(HttpStatus.OK)
+        .body(orderService.getAllOrdersByClientId(clientId, includeArchived));
   }
 }
@@ -0,0 +1,77 @@
+package batalskyi.technical.application.diagnostics;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Counts the SQL statements executed on the current thread while a {@link Scope} is open, as
+ * reported by {@link SqlStatementCountingDataSource}. Statements are keyed by their text, so the
+ * same query repeated once per row (N+1) shows up as a high repeat count even when the total
+ * looks harmless.
+ */
+public final class SqlStatementCounter {
+
+  private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+  private SqlStatementCounter() {
+  }
+
+  public static Scope open() {
+    var scope = new Scope(CURRENT.get());
+    CURRENT.set(scope);
+    return scope;
+  }
+
+  static void record(String sql) {
+    for (var scope = CURRENT.get(); scope != null; scope = scope.parent) {
+      scope.record(sql);
+    }
+  }
+
+  public static final class Scope implements AutoCloseable {
+
+    private final Scope parent;
+    private final Map<String, Integer> repeats = new HashMap<>();
+    private int total;
+    private String mostRepeated;
+    private int maxRepeats;
+
+    private Scope(Scope parent) {
+      this.parent = parent;
+    }
+
+    private void record(String sql) {
+      total++;
+      var count = repeats.merge(sql, 1, Integer::sum);
+      if (count > maxRepeats) {
+        maxRepeats = count;
+        mostRepeated = sql;
+      }
+    }
+
+    public int total() {
+      return total;
+    }
+
+    public int distinct() {
+      return repeats.size();
+    }
+
+    public int maxRepeats() {
+      return maxRepeats;
+    }
+
+    public String mostRepeated() {
+      return mostRepeated;
+    }
+
+    @Override
+    public void close() {
+      if (parent == null) {
+        CURRENT.remove();
+      } else {
+        CURRENT.set(parent);
+      }
+    }
+  }
+}
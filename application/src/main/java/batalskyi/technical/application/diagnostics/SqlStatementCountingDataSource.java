@@ -0,0 +1,95 @@
+package batalskyi.technical.application.diagnostics;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Hands out connections whose statements report every execution to {@link SqlStatementCounter},
+ * so Hibernate and JdbcTemplate statements are counted alike. A batch counts once. Closing it
+ * closes the pool it wraps.
+ */
+public class SqlStatementCountingDataSource extends DelegatingDataSource implements AutoCloseable {
+
+  private static final Set<String> EXECUTE_METHODS = Set.of("execute", "executeQuery",
+      "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+  public SqlStatementCountingDataSource(DataSource targetDataSource) {
+    super(targetDataSource);
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    return counting(super.getConnection());
+  }
+
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    return counting(super.getConnection(username, password));
+  }
+
+  @Override
+  public void close() throws Exception {
+    if (getTargetDataSource() instanceof AutoCloseable pool) {
+      pool.close();
+    }
+  }
+
+  private static Connection counting(Connection connection) {
+    return proxy(Connection.class, connection, (proxy, method, args) -> {
+      var result = invoke(connection, method, args);
+      if (result instanceof CallableStatement statement) {
+        return counting(CallableStatement.class, statement, (String) args[0]);
+      } else if (result instanceof PreparedStatement statement) {
+        return counting(PreparedStatement.class, statement, (String) args[0]);
+      } else if (result instanceof Statement statement) {
+        return counting(Statement.class, statement, null);
+      }
+      return result;
+    });
+  }
+
+  private static <T extends Statement> T counting(Class<T> type, T statement, String sql) {
+    return proxy(type, statement, (proxy, method, args) -> {
+      if (EXECUTE_METHODS.contains(method.getName())) {
+        SqlStatementCounter.record(args != null && args.length > 0 && args[0] instanceof String
+            ? (String) args[0] : sql);
+      }
+      return invoke(statement, method, args);
+    });
+  }
+
+  private static <T> T proxy(Class<T> type, T target, Handler handler) {
+    return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type},
+        (proxy, method, args) -> switch (method.getName()) {
+          // identity of the proxy, which is what the transaction synchronization holds on to
+          case "equals" -> proxy == args[0];
+          case "hashCode" -> System.identityHashCode(proxy);
+          case "unwrap" -> ((Class<?>) args[0]).isInstance(proxy) ? proxy
+              : invoke(target, method, args);
+          default -> handler.invoke(proxy, method, args);
+        }));
+  }
+
+  private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+    try {
+      return method.invoke(target, args);
+    } catch (InvocationTargetException e) {
+      throw e.getTargetException();
+    }
+  }
+
+  @FunctionalInterface
+  private interface Handler {
+
+    Object invoke(Object proxy, Method method, Object[] args) throws Throwable;
+  }
+}
@@ -0,0 +1,108 @@
+package batalskyi.technical.application.diagnostics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.io.PrintWriter;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Reports how many SQL statements each request issued, as a response header, a per-endpoint
+ * distribution summary and a warning when a request goes over the configured budget or repeats
+ * one statement often enough to look like N+1. Statements issued by streaming bodies and by
+ * orders completed on the processor threads run after the handler returns, and async dispatches
+ * are not filtered again, so those are not counted; the statement count tests cover them.
+ */
+@Log4j2
+public class SqlStatementCountingFilter extends OncePerRequestFilter {
+
+  public static final String HEADER = "X-Sql-Statement-Count";
+
+  private final MeterRegistry meterRegistry;
+  private final int maxStatements;
+  private final int maxRepeats;
+
+  public SqlStatementCountingFilter(MeterRegistry meterRegistry, int maxStatements,
+      int maxRepeats) {
+    this.meterRegistry = meterRegistry;
+    this.maxStatements = maxStatements;
+    this.maxRepeats = maxRepeats;
+  }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+      FilterChain filterChain) throws ServletException, IOException {
+    try (var scope = SqlStatementCounter.open()) {
+      filterChain.doFilter(request, new CountingResponse(response, scope));
+      report(request, scope);
+    }
+  }
+
+  private void report(HttpServletRequest request, SqlStatementCounter.Scope scope) {
+    var pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+    var uri = pattern != null ? pattern.toString() : "UNKNOWN";
+    DistributionSummary.builder("http.server.requests.sql.statements")
+        .tag("method", request.getMethod())
+        .tag("uri", uri)
+        .register(meterRegistry)
+        .record(scope.total());
+
+    if (scope.maxRepeats() > maxRepeats) {
+      log.warn("{} {} repeated one statement {} times, possible N+1: {}", request.getMethod(),
+          uri, scope.maxRepeats(), scope.mostRepeated());
+    } else if (scope.total() > maxStatements) {
+      log.warn("{} {} issued {} SQL statements ({} distinct), budget is {}.",
+          request.getMethod(), uri, scope.total(), scope.distinct(), maxStatements);
+    } else {
+      log.debug("{} {} issued {} SQL statements.", request.getMethod(), uri, scope.total());
+    }
+  }
+
+  /**
+   * Adds the count header right before the body is first touched, which is the last moment
+   * headers can still be set and after the handler has done its queries.
+   */
+  private static final class CountingResponse extends HttpServletResponseWrapper {
+
+    private final SqlStatementCounter.Scope scope;
+    private boolean headerWritten;
+
+    private CountingResponse(HttpServletResponse response, SqlStatementCounter.Scope scope) {
+      super(response);
+      this.scope = scope;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+      writeHeader();
+      return super.getOutputStream();
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+      writeHeader();
+      return super.getWriter();
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+      writeHeader();
+      super.flushBuffer();
+    }
+
+    private void writeHeader() {
+      if (!headerWritten && !isCommitted()) {
+        setIntHeader(HEADER, scope.total());
+      }
+      headerWritten = true;
+    }
+  }
+}
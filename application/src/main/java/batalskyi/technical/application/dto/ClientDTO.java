@@ -2,10 +2,12 @@ package batalskyi.technical.application.dto;
 
 import java.time.LocalDateTime;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Getter
 @Setter
+@NoArgsConstructor
 public class ClientDTO {
 
   private Long id;
@@ -19,4 +21,14 @@ public class ClientDTO {
   private boolean active;
 
   private LocalDateTime deactivatedAt;
+
+  public ClientDTO(Long id, String name, String email, String address, boolean active,
+      LocalDateTime deactivatedAt) {
+    this.id = id;
+    this.name = name;
+    this.email = email;
+    this.address = address;
+    this.active = active;
+    this.deactivatedAt = deactivatedAt;
+  }
 }
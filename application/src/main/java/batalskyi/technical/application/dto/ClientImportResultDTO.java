@@ -0,0 +1,17 @@
+package batalskyi.technical.application.dto;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public class ClientImportResultDTO {
+
+  private final long line;
+
+  private final String status;
+
+  private final Long clientId;
+
+  private final String message;
+}
@@ -0,0 +1,19 @@
+package batalskyi.technical.application.dto;
+
+import java.math.BigDecimal;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class ClientProfitDTO {
+
+  private Long clientId;
+
+  private BigDecimal profit;
+
+  public ClientProfitDTO(Long clientId, BigDecimal profit) {
+    this.clientId = clientId;
+    this.profit = profit;
+  }
+}
@@ -1,6 +1,6 @@
 package batalskyi.technical.application.dto;
 
-import batalskyi.technical.application.entity.Client;
+import batalskyi.technical.application.util.Money;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -26,13 +26,14 @@ public class ClientWithProfitDTO {
 
   private LocalDateTime deactivatedAt;
 
-  public ClientWithProfitDTO(Client client, BigDecimal profit) {
-    this.id = client.getId();
-    this.name = client.getName();
-    this.email = client.getEmail();
-    this.address = client.getAddress();
-    this.active = client.isActive();
-    this.deactivatedAt = client.getDeactivatedAt();
-    this.profit = profit;
+  public ClientWithProfitDTO(Long id, String name, String email, String address,
+      boolean active, LocalDateTime deactivatedAt, BigDecimal profit) {
+    this.id = id;
+    this.name = name;
+    this.email = email;
+    this.address = address;
+    this.active = active;
+    this.deactivatedAt = deactivatedAt;
+    this.profit = Money.of(profit).toBigDecimal();
   }
 }
@@ -0,0 +1,34 @@
+package batalskyi.technical.application.dto;
+
+import java.time.LocalDateTime;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public class ExportReportDTO {
+
+  private final String state;
+
+  private final String table;
+
+  private final String directory;
+
+  private final LocalDateTime startedAt;
+
+  private final LocalDateTime finishedAt;
+
+  private final long chunks;
+
+  private final long chunksDone;
+
+  private final long chunksSkipped;
+
+  private final long rows;
+
+  private final long bytes;
+
+  private final double megabytesPerSecond;
+
+  private final String error;
+}
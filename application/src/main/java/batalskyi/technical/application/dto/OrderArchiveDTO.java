@@ -0,0 +1,27 @@
+package batalskyi.technical.application.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class OrderArchiveDTO {
+
+  private LocalDate month;
+
+  private String fileName;
+
+  private long orderCount;
+
+  private LocalDateTime archivedAt;
+
+  public OrderArchiveDTO(LocalDate month, String fileName, long orderCount,
+      LocalDateTime archivedAt) {
+    this.month = month;
+    this.fileName = fileName;
+    this.orderCount = orderCount;
+    this.archivedAt = archivedAt;
+  }
+}
@@ -4,10 +4,12 @@ import jakarta.validation.constraints.NotBlank;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Getter
 @Setter
+@NoArgsConstructor
 public class OrderResponseDTO {
 
   @NotBlank
@@ -34,4 +36,16 @@ public class OrderResponseDTO {
   @NotBlank
   private LocalDateTime createdAt;
 
+  public OrderResponseDTO(Long id, String title, Long supplierId, Long consumerId,
+      BigDecimal price, LocalDateTime processingStartTime, LocalDateTime processingEndTime,
+      LocalDateTime createdAt) {
+    this.id = id;
+    this.title = title;
+    this.supplierId = supplierId;
+    this.consumerId = consumerId;
+    this.price = price;
+    this.processingStartTime = processingStartTime;
+    this.processingEndTime = processingEndTime;
+    this.createdAt = createdAt;
+  }
 }
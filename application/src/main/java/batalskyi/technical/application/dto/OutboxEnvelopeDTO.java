@@ -0,0 +1,22 @@
+package batalskyi.technical.application.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import java.time.LocalDateTime;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public class OutboxEnvelopeDTO {
+
+  private final Long id;
+
+  private final String type;
+
+  private final Long aggregateId;
+
+  private final LocalDateTime createdAt;
+
+  @JsonRawValue
+  private final String payload;
+}
@@ -0,0 +1,20 @@
+package batalskyi.technical.application.dto;
+
+import java.math.BigDecimal;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public class ProfitDiscrepancyDTO {
+
+  private final String source;
+
+  private final Long clientId;
+
+  private final BigDecimal expectedProfit;
+
+  private final BigDecimal actualProfit;
+
+  private final boolean repaired;
+}
@@ -0,0 +1,37 @@
+package batalskyi.technical.application.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public class ReconciliationReportDTO {
+
+  private final String state;
+
+  private final boolean repair;
+
+  private final LocalDateTime startedAt;
+
+  private final LocalDateTime finishedAt;
+
+  private final long watermarkOrderId;
+
+  private final long chunks;
+
+  private final long chunksDone;
+
+  private final long ordersScanned;
+
+  private final long clients;
+
+  private final long clientsSkipped;
+
+  private final long discrepancyCount;
+
+  private final List<ProfitDiscrepancyDTO> discrepancies;
+
+  private final String error;
+}
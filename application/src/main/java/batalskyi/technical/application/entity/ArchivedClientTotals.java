@@ -0,0 +1,39 @@
+package batalskyi.technical.application.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.math.BigDecimal;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Sales, purchases and order count of one client over all of its archived orders, so profit
+ * stays complete after the orders themselves have left the {@code orders} table.
+ */
+@Entity
+@Table(name = "archived_client_totals")
+@Getter
+@NoArgsConstructor
+public class ArchivedClientTotals {
+
+  @Id
+  private Long clientId;
+
+  @Column(nullable = false)
+  private BigDecimal sales;
+
+  @Column(nullable = false)
+  private BigDecimal purchases;
+
+  private long orderCount;
+
+  public ArchivedClientTotals(Long clientId, BigDecimal sales, BigDecimal purchases,
+      long orderCount) {
+    this.clientId = clientId;
+    this.sales = sales;
+    this.purchases = purchases;
+    this.orderCount = orderCount;
+  }
+}
@@ -0,0 +1,36 @@
+package batalskyi.technical.application.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Business key of an archived order. Kept after the order has left the {@code orders} table, so
+ * an order with the same title, supplier and consumer cannot be created again.
+ */
+@Entity
+@Table(name = "archived_order_keys", uniqueConstraints = @UniqueConstraint(columnNames = {
+    "title", "supplier_id", "consumer_id"}))
+@Getter
+@NoArgsConstructor
+public class ArchivedOrderKey {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(nullable = false)
+  private String title;
+
+  @Column(nullable = false)
+  private Long supplierId;
+
+  @Column(nullable = false)
+  private Long consumerId;
+}
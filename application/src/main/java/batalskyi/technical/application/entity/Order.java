@@ -6,6 +6,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
@@ -19,7 +20,7 @@ import lombok.Setter;
 
 @Entity
 @Table(name = "orders", uniqueConstraints = @UniqueConstraint(columnNames = {"title", "supplier_id",
-    "consumer_id"}))
+    "consumer_id"}), indexes = @Index(columnList = "created_at"))
 @Getter
 @NoArgsConstructor
 public class Order {
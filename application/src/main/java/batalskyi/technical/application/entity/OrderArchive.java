@@ -0,0 +1,53 @@
+package batalskyi.technical.application.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * One month of orders moved out of the {@code orders} table into a compressed file. The file
+ * holds the orders grouped by supplier and then again grouped by consumer, every client's group
+ * a gzip member indexed in {@code order_archive_sections}; files archived before that hold the
+ * orders once, in id order.
+ */
+@Entity
+@Table(name = "order_archives")
+@Getter
+@NoArgsConstructor
+public class OrderArchive {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(nullable = false)
+  private LocalDate monthStart;
+
+  @Column(nullable = false, unique = true)
+  private String fileName;
+
+  private long orderCount;
+
+  /**
+   * Null for files archived before the orders were grouped by client.
+   */
+  private Boolean clientSections;
+
+  @Column(nullable = false)
+  private LocalDateTime archivedAt;
+
+  public OrderArchive(LocalDate monthStart, String fileName, long orderCount) {
+    this.monthStart = monthStart;
+    this.fileName = fileName;
+    this.orderCount = orderCount;
+    this.clientSections = true;
+    this.archivedAt = LocalDateTime.now();
+  }
+}
@@ -0,0 +1,47 @@
+package batalskyi.technical.application.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Byte range of an archive file that holds the sales or the purchases of one client, a gzip
+ * member of its own, so the archived orders of a client are read without scanning the files.
+ */
+@Entity
+@Table(name = "order_archive_sections", indexes = @Index(columnList = "client_id"))
+@Getter
+@NoArgsConstructor
+public class OrderArchiveSection {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @ManyToOne(fetch = FetchType.LAZY)
+  @JoinColumn(name = "archive_id", nullable = false)
+  private OrderArchive archive;
+
+  @Column(nullable = false)
+  private Long clientId;
+
+  /**
+   * True for the orders the client supplied, false for the ones it consumed.
+   */
+  private boolean sales;
+
+  private long byteOffset;
+
+  private int byteLength;
+
+  private long orderCount;
+}
@@ -0,0 +1,47 @@
+package batalskyi.technical.application.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Notification for downstream systems, written in the transaction of the change it describes
+ * and deleted once the relay has delivered it.
+ */
+@Entity
+@Table(name = "outbox_messages")
+@Getter
+@NoArgsConstructor
+public class OutboxMessage {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(nullable = false, length = 64)
+  private String type;
+
+  @Column(nullable = false)
+  private Long aggregateId;
+
+  @Lob
+  @Column(nullable = false)
+  private String payload;
+
+  @Column(nullable = false)
+  private LocalDateTime createdAt;
+
+  public OutboxMessage(String type, Long aggregateId, String payload) {
+    this.type = type;
+    this.aggregateId = aggregateId;
+    this.payload = payload;
+    this.createdAt = LocalDateTime.now();
+  }
+}
@@ -0,0 +1,51 @@
+package batalskyi.technical.application.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Order that passed validation and is still being processed. It is deleted in the transaction
+ * that saves the order or once the order is rejected, so rows left after a restart are orders
+ * that were cut off and are resumed on startup.
+ */
+@Entity
+@Table(name = "pending_orders")
+@Getter
+@NoArgsConstructor
+public class PendingOrder {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(nullable = false)
+  private String title;
+
+  @Column(nullable = false)
+  private Long supplierId;
+
+  @Column(nullable = false)
+  private Long consumerId;
+
+  @Column(nullable = false)
+  private BigDecimal price;
+
+  @Column(nullable = false)
+  private LocalDateTime receivedAt;
+
+  public PendingOrder(String title, Long supplierId, Long consumerId, BigDecimal price) {
+    this.title = title;
+    this.supplierId = supplierId;
+    this.consumerId = consumerId;
+    this.price = price;
+    this.receivedAt = LocalDateTime.now();
+  }
+}
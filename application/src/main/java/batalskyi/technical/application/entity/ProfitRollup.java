@@ -0,0 +1,57 @@
+package batalskyi.technical.application.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import java.time.LocalDateTime;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Sales, purchases and order count of one client within one hour or day, in minor units. Rows
+ * are incremented in the transaction that saves an order; hourly rows are dropped once they fall
+ * behind the retention window, the daily rows already holding their totals.
+ */
+@Entity
+@Table(name = "profit_rollups", uniqueConstraints = @UniqueConstraint(columnNames = {
+    "client_id", "granularity", "bucket_start"}))
+@Getter
+@NoArgsConstructor
+public class ProfitRollup {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(nullable = false)
+  private Long clientId;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false, length = 8)
+  private RollupGranularity granularity;
+
+  @Column(nullable = false)
+  private LocalDateTime bucketStart;
+
+  private long salesMinor;
+
+  private long purchasesMinor;
+
+  private long orderCount;
+
+  public ProfitRollup(Long clientId, RollupGranularity granularity, LocalDateTime bucketStart,
+      long salesMinor, long purchasesMinor, long orderCount) {
+    this.clientId = clientId;
+    this.granularity = granularity;
+    this.bucketStart = bucketStart;
+    this.salesMinor = salesMinor;
+    this.purchasesMinor = purchasesMinor;
+    this.orderCount = orderCount;
+  }
+}
@@ -0,0 +1,24 @@
+package batalskyi.technical.application.events;
+
+import java.time.LocalDateTime;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public class ClientDeactivatedEvent implements ClientEvent {
+
+  private final Long clientId;
+
+  private final LocalDateTime deactivatedAt;
+
+  @Override
+  public String eventName() {
+    return "client-deactivated";
+  }
+
+  @Override
+  public boolean concerns(Long clientId) {
+    return this.clientId.equals(clientId);
+  }
+}
@@ -0,0 +1,12 @@
+package batalskyi.technical.application.events;
+
+/**
+ * Event pushed to dashboard subscribers. Implementations are serialized as the SSE data field,
+ * so everything that is not part of the payload is exposed through non-bean methods.
+ */
+public interface ClientEvent {
+
+  String eventName();
+
+  boolean concerns(Long clientId);
+}
@@ -0,0 +1,204 @@
+package batalskyi.technical.application.events;
+
+import batalskyi.technical.application.service.ClientService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Fans client events out to SSE subscribers once the originating transaction has committed.
+ * Profit changes are only computed for clients somebody is subscribed to, and off the committing
+ * thread, so dashboards no longer poll the profit endpoints.
+ */
+@Log4j2
+@Component
+public class ClientEventBroadcaster implements SmartLifecycle, DisposableBean {
+
+  private final List<EventSubscription> subscriptions = new CopyOnWriteArrayList<>();
+  private final ClientService clientService;
+  private final ExecutorService sender;
+  private final int bufferSize;
+  private final long timeoutMillis;
+  private final long heartbeatMillis;
+  private final Counter dropped;
+  private final Counter disconnected;
+  private volatile ScheduledExecutorService heartbeat;
+
+  public ClientEventBroadcaster(ClientService clientService, MeterRegistry meterRegistry,
+      @Value("${order.events.buffer-size}") int bufferSize,
+      @Value("${order.events.sender-threads}") int senderThreads,
+      @Value("${order.events.timeout}") Duration timeout,
+      @Value("${order.events.heartbeat-interval}") Duration heartbeatInterval) {
+    this.clientService = clientService;
+    this.bufferSize = bufferSize;
+    this.timeoutMillis = timeout.toMillis();
+    this.heartbeatMillis = heartbeatInterval.toMillis();
+    this.sender = Executors.newFixedThreadPool(senderThreads,
+        Thread.ofPlatform().name("order-events-", 0).daemon().factory());
+
+    Gauge.builder("order.events.subscribers", subscriptions, List::size)
+        .register(meterRegistry);
+    this.dropped = Counter.builder("order.events.dropped").register(meterRegistry);
+    this.disconnected = Counter.builder("order.events.disconnected").register(meterRegistry);
+  }
+
+  public SseEmitter subscribe(Set<Long> clientIds, OverflowPolicy overflowPolicy) {
+    var emitter = new SseEmitter(timeoutMillis);
+    var subscription = new EventSubscription(emitter, clientIds, overflowPolicy, bufferSize);
+    emitter.onCompletion(() -> remove(subscription));
+    emitter.onTimeout(emitter::complete);
+    emitter.onError(e -> remove(subscription));
+    subscriptions.add(subscription);
+    log.debug("New event subscription for clients {} with policy {}.", clientIds,
+        overflowPolicy);
+    return emitter;
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onOrderCommitted(OrderCommittedEvent event) {
+    publish(event);
+    var order = event.getOrder();
+    var supplierId = order.getSupplierId();
+    var consumerId = order.getConsumerId();
+    var supplierFollowed = isFollowed(supplierId);
+    var consumerFollowed = isFollowed(consumerId);
+    if (!supplierFollowed && !consumerFollowed) {
+      return;
+    }
+    sender.execute(() -> {
+      if (supplierFollowed) {
+        publishProfitChange(supplierId, order.getId(), order.getPrice());
+      }
+      if (consumerFollowed) {
+        publishProfitChange(consumerId, order.getId(), order.getPrice().negate());
+      }
+    });
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onOrderRejected(OrderRejectedEvent event) {
+    publish(event);
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onClientDeactivated(ClientDeactivatedEvent event) {
+    publish(event);
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onClientReactivated(ClientReactivatedEvent event) {
+    publish(event);
+  }
+
+  private void publishProfitChange(Long clientId, Long orderId, BigDecimal change) {
+    try {
+      var profit = clientService.calculateClientProfit(clientId).toBigDecimal();
+      publish(new ProfitChangedEvent(clientId, orderId, change, profit));
+    } catch (RuntimeException e) {
+      log.error("Could not publish profit change for client with id {}: {}", clientId,
+          e.getMessage());
+    }
+  }
+
+  private boolean isFollowed(Long clientId) {
+    for (var subscription : subscriptions) {
+      if (subscription.follows(clientId)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private void publish(ClientEvent event) {
+    for (var subscription : subscriptions) {
+      if (!subscription.accepts(event)) {
+        continue;
+      }
+      if (!subscription.offer(event)) {
+        dropped.increment();
+        if (subscription.isClosed()) {
+          disconnected.increment();
+          log.warn("Disconnecting slow event subscriber.");
+          remove(subscription);
+          subscription.getEmitter().complete();
+          continue;
+        }
+      }
+      if (subscription.markScheduled()) {
+        sender.execute(() -> send(subscription, false));
+      }
+    }
+  }
+
+  private void sendHeartbeats() {
+    for (var subscription : subscriptions) {
+      if (subscription.markScheduled()) {
+        sender.execute(() -> send(subscription, true));
+      }
+    }
+  }
+
+  private void send(EventSubscription subscription, boolean heartbeat) {
+    if (heartbeat) {
+      subscription.heartbeat();
+    } else {
+      subscription.drain();
+    }
+    if (subscription.isClosed()) {
+      remove(subscription);
+    }
+  }
+
+  private void remove(EventSubscription subscription) {
+    subscription.close();
+    subscriptions.remove(subscription);
+  }
+
+  @Override
+  public void start() {
+    heartbeat = Executors.newSingleThreadScheduledExecutor(
+        Thread.ofPlatform().name("order-events-heartbeat").daemon().factory());
+    heartbeat.scheduleAtFixedRate(this::sendHeartbeats, heartbeatMillis, heartbeatMillis,
+        TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public void stop() {
+    heartbeat.shutdownNow();
+    heartbeat = null;
+  }
+
+  @Override
+  public boolean isRunning() {
+    return heartbeat != null;
+  }
+
+  @Override
+  public void destroy() {
+    for (var subscription : subscriptions) {
+      remove(subscription);
+      try {
+        subscription.getEmitter().complete();
+      } catch (IllegalStateException e) {
+        log.debug("Event subscription already closed: {}", e.getMessage());
+      }
+    }
+    sender.shutdownNow();
+  }
+}
@@ -0,0 +1,24 @@
+package batalskyi.technical.application.events;
+
+import java.time.LocalDateTime;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public class ClientReactivatedEvent implements ClientEvent {
+
+  private final Long clientId;
+
+  private final LocalDateTime reactivatedAt;
+
+  @Override
+  public String eventName() {
+    return "client-reactivated";
+  }
+
+  @Override
+  public boolean concerns(Long clientId) {
+    return this.clientId.equals(clientId);
+  }
+}
@@ -0,0 +1,138 @@
+package batalskyi.technical.application.events;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * One SSE subscriber with its own bounded buffer. Publishers only enqueue; a sender thread drains
+ * the buffer into the emitter, so a slow connection fills its own buffer and never blocks order
+ * processing or other subscribers.
+ */
+final class EventSubscription {
+
+  private final SseEmitter emitter;
+  private final Set<Long> clientIds;
+  private final OverflowPolicy overflowPolicy;
+  private final int capacity;
+  private final ArrayDeque<ClientEvent> buffer;
+  private final AtomicBoolean scheduled = new AtomicBoolean();
+  private volatile boolean closed;
+
+  EventSubscription(SseEmitter emitter, Set<Long> clientIds, OverflowPolicy overflowPolicy,
+      int capacity) {
+    this.emitter = emitter;
+    this.clientIds = clientIds;
+    this.overflowPolicy = overflowPolicy;
+    this.capacity = capacity;
+    this.buffer = new ArrayDeque<>(capacity);
+  }
+
+  SseEmitter getEmitter() {
+    return emitter;
+  }
+
+  boolean isClosed() {
+    return closed;
+  }
+
+  boolean accepts(ClientEvent event) {
+    if (closed) {
+      return false;
+    }
+    if (clientIds.isEmpty()) {
+      return true;
+    }
+    for (var clientId : clientIds) {
+      if (event.concerns(clientId)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  boolean follows(Long clientId) {
+    return !closed && (clientIds.isEmpty() || clientIds.contains(clientId));
+  }
+
+  /**
+   * Buffers the event, applying the overflow policy when the buffer is full.
+   *
+   * @return false if an event was dropped or the subscription was closed because of overflow
+   */
+  boolean offer(ClientEvent event) {
+    synchronized (buffer) {
+      if (buffer.size() < capacity) {
+        buffer.addLast(event);
+        return true;
+      }
+      switch (overflowPolicy) {
+        case DROP_OLDEST -> {
+          buffer.pollFirst();
+          buffer.addLast(event);
+        }
+        case DROP_NEWEST -> {
+        }
+        case DISCONNECT -> {
+          buffer.clear();
+          closed = true;
+        }
+      }
+      return false;
+    }
+  }
+
+  boolean markScheduled() {
+    return scheduled.compareAndSet(false, true);
+  }
+
+  void heartbeat() {
+    try {
+      emitter.send(SseEmitter.event().comment("heartbeat"));
+    } catch (IOException | IllegalStateException e) {
+      close();
+    }
+    drain();
+  }
+
+  void drain() {
+    while (true) {
+      try {
+        ClientEvent event;
+        while (!closed && (event = poll()) != null) {
+          emitter.send(SseEmitter.event()
+              .name(event.eventName())
+              .data(event, MediaType.APPLICATION_JSON));
+        }
+      } catch (IOException | IllegalStateException e) {
+        close();
+      }
+      scheduled.set(false);
+      if (closed || isEmpty() || !scheduled.compareAndSet(false, true)) {
+        return;
+      }
+    }
+  }
+
+  void close() {
+    closed = true;
+    synchronized (buffer) {
+      buffer.clear();
+    }
+  }
+
+  private ClientEvent poll() {
+    synchronized (buffer) {
+      return buffer.pollFirst();
+    }
+  }
+
+  private boolean isEmpty() {
+    synchronized (buffer) {
+      return buffer.isEmpty();
+    }
+  }
+}
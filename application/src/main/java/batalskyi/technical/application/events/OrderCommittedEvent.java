@@ -0,0 +1,24 @@
+package batalskyi.technical.application.events;
+
+import batalskyi.technical.application.dto.OrderResponseDTO;
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public class OrderCommittedEvent implements ClientEvent {
+
+  @JsonUnwrapped
+  private final OrderResponseDTO order;
+
+  @Override
+  public String eventName() {
+    return "order-committed";
+  }
+
+  @Override
+  public boolean concerns(Long clientId) {
+    return clientId.equals(order.getSupplierId()) || clientId.equals(order.getConsumerId());
+  }
+}
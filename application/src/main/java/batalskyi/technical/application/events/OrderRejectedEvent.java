@@ -0,0 +1,33 @@
+package batalskyi.technical.application.events;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public class OrderRejectedEvent implements ClientEvent {
+
+  private final String title;
+
+  private final Long supplierId;
+
+  private final Long consumerId;
+
+  private final BigDecimal price;
+
+  private final String reason;
+
+  private final LocalDateTime rejectedAt;
+
+  @Override
+  public String eventName() {
+    return "order-rejected";
+  }
+
+  @Override
+  public boolean concerns(Long clientId) {
+    return clientId.equals(supplierId) || clientId.equals(consumerId);
+  }
+}
@@ -0,0 +1,7 @@
+package batalskyi.technical.application.events;
+
+public enum OverflowPolicy {
+  DROP_OLDEST,
+  DROP_NEWEST,
+  DISCONNECT
+}
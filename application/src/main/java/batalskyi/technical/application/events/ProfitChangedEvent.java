@@ -0,0 +1,28 @@
+package batalskyi.technical.application.events;
+
+import java.math.BigDecimal;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public class ProfitChangedEvent implements ClientEvent {
+
+  private final Long clientId;
+
+  private final Long orderId;
+
+  private final BigDecimal change;
+
+  private final BigDecimal profit;
+
+  @Override
+  public String eventName() {
+    return "profit-changed";
+  }
+
+  @Override
+  public boolean concerns(Long clientId) {
+    return this.clientId.equals(clientId);
+  }
+}
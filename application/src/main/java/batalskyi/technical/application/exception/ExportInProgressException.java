@@ -0,0 +1,8 @@
+package batalskyi.technical.application.exception;
+
+public class ExportInProgressException extends RuntimeException {
+
+  public ExportInProgressException(String message) {
+    super(message);
+  }
+}
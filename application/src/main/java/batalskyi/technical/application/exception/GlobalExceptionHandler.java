@@ -2,6 +2,7 @@ package batalskyi.technical.application.exception;
 
 import batalskyi.technical.application.dto.ApiError;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -59,4 +60,37 @@ public class GlobalExceptionHandler {
     return ResponseEntity.status(HttpStatus.CONFLICT)
         .body(new ApiError(HttpStatus.CONFLICT.value(), ex.getMessage()));
   }
+
+  @ExceptionHandler(OrderOverloadException.class)
+  public ResponseEntity<ApiError> handleOrderOverload(OrderOverloadException ex) {
+    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+        .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+        .body(new ApiError(HttpStatus.SERVICE_UNAVAILABLE.value(), ex.getMessage()));
+  }
+
+  @ExceptionHandler(RateLimitExceededException.class)
+  public ResponseEntity<ApiError> handleRateLimitExceeded(RateLimitExceededException ex) {
+    return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+        .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+        .body(new ApiError(HttpStatus.TOO_MANY_REQUESTS.value(), ex.getMessage()));
+  }
+
+  @ExceptionHandler(RecordingNotAvailableException.class)
+  public ResponseEntity<ApiError> handleRecordingNotAvailable(RecordingNotAvailableException ex) {
+    return ResponseEntity.status(HttpStatus.CONFLICT)
+        .body(new ApiError(HttpStatus.CONFLICT.value(), ex.getMessage()));
+  }
+
+  @ExceptionHandler(ReconciliationInProgressException.class)
+  public ResponseEntity<ApiError> handleReconciliationInProgress(
+      ReconciliationInProgressException ex) {
+    return ResponseEntity.status(HttpStatus.CONFLICT)
+        .body(new ApiError(HttpStatus.CONFLICT.value(), ex.getMessage()));
+  }
+
+  @ExceptionHandler(ExportInProgressException.class)
+  public ResponseEntity<ApiError> handleExportInProgress(ExportInProgressException ex) {
+    return ResponseEntity.status(HttpStatus.CONFLICT)
+        .body(new ApiError(HttpStatus.CONFLICT.value(), ex.getMessage()));
+  }
 }
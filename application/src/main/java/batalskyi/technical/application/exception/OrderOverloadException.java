@@ -0,0 +1,14 @@
+package batalskyi.technical.application.exception;
+
+import lombok.Getter;
+
+@Getter
+public class OrderOverloadException extends RuntimeException {
+
+  private final long retryAfterSeconds;
+
+  public OrderOverloadException(String message, long retryAfterSeconds) {
+    super(message);
+    this.retryAfterSeconds = retryAfterSeconds;
+  }
+}
@@ -0,0 +1,8 @@
+package batalskyi.technical.application.exception;
+
+public class ReconciliationInProgressException extends RuntimeException {
+
+  public ReconciliationInProgressException(String message) {
+    super(message);
+  }
+}
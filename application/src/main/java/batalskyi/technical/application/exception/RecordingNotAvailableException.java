@@ -0,0 +1,8 @@
+package batalskyi.technical.application.exception;
+
+public class RecordingNotAvailableException extends RuntimeException {
+
+  public RecordingNotAvailableException(String message) {
+    super(message);
+  }
+}
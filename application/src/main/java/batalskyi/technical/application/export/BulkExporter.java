@@ -0,0 +1,263 @@
+package batalskyi.technical.application.export;
+
+import batalskyi.technical.application.dto.ExportReportDTO;
+import batalskyi.technical.application.exception.AttributeMismatchException;
+import batalskyi.technical.application.exception.ExportInProgressException;
+import java.io.BufferedWriter;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+import javax.sql.DataSource;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Exports a table to gzip compressed CSV files, one per id-range chunk, read in parallel over
+ * the read pool. Every chunk is written to a {@code .part} file and renamed once it is complete
+ * and forced to disk, so the finished chunk files are the checkpoints: running the same export
+ * again reuses the id bounds recorded in its manifest and only writes the missing chunks. The
+ * compressed output of all writers is throttled to {@code order.export.max-bytes-per-second} so
+ * the export does not compete with live requests for the disk.
+ */
+@Log4j2
+@Component
+public class BulkExporter implements DisposableBean {
+
+  private static final String MANIFEST = "export.properties";
+  private static final Pattern NAME = Pattern.compile("[A-Za-z0-9][A-Za-z0-9._-]*");
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private final JdbcTemplate jdbcTemplate;
+  private final Path baseDirectory;
+  private final int parallelism;
+  private final long chunkSize;
+  private final ByteThrottle throttle;
+  private final ExecutorService runner;
+  private final AtomicReference<ExportRun> current = new AtomicReference<>();
+
+  public BulkExporter(@Qualifier("readDataSource") DataSource readDataSource,
+      @Value("${order.export.directory}") Path baseDirectory,
+      @Value("${order.export.parallelism}") int parallelism,
+      @Value("${order.export.chunk-size}") long chunkSize,
+      @Value("${order.export.fetch-size}") int fetchSize,
+      @Value("${order.export.max-bytes-per-second}") long maxBytesPerSecond) {
+    this.jdbcTemplate = new JdbcTemplate(readDataSource);
+    this.jdbcTemplate.setFetchSize(fetchSize);
+    this.baseDirectory = baseDirectory;
+    this.parallelism = parallelism;
+    this.chunkSize = chunkSize;
+    this.throttle = new ByteThrottle(maxBytesPerSecond);
+    this.runner = Executors.newSingleThreadExecutor(
+        Thread.ofPlatform().name("bulk-export").daemon().factory());
+  }
+
+  /**
+   * Starts exporting the table in the background into {@code <directory>/<name>/<table>}.
+   */
+  public ExportReportDTO start(ExportTable table, String name) {
+    var run = begin(table, name);
+    runner.execute(() -> execute(run));
+    return run.toReport();
+  }
+
+  /**
+   * Exports the table into {@code <directory>/<name>/<table>} and waits for it to finish.
+   */
+  public ExportReportDTO export(ExportTable table, String name) {
+    var run = begin(table, name);
+    execute(run);
+    return run.toReport();
+  }
+
+  public ExportReportDTO status() {
+    var run = current.get();
+    return run == null ? new ExportReportDTO("IDLE", null, null, null, null, 0, 0, 0, 0, 0, 0,
+        null) : run.toReport();
+  }
+
+  private ExportRun begin(ExportTable table, String name) {
+    if (!NAME.matcher(name).matches()) {
+      log.error("Export name {} is not supported.", name);
+      throw new AttributeMismatchException(
+          "Export name should only contain letters, digits, '.', '_' and '-'.");
+    }
+    var run = new ExportRun(table, baseDirectory.resolve(name).resolve(table.tableName()));
+    var previous = current.get();
+    if (previous != null && previous.isRunning() || !current.compareAndSet(previous, run)) {
+      log.error("An export is already running.");
+      throw new ExportInProgressException("An export is already running.");
+    }
+    log.info("Exporting {} into {}.", table.tableName(), run.directory());
+    return run;
+  }
+
+  private void execute(ExportRun run) {
+    try {
+      Files.createDirectories(run.directory());
+      var bounds = readOrWriteManifest(run);
+      var fromId = bounds[0];
+      var toId = bounds[1];
+      var runChunkSize = bounds[2];
+      var chunkCount = toId < fromId ? 0 : (toId - fromId) / runChunkSize + 1;
+      run.begin(chunkCount);
+      try (var pool = Executors.newFixedThreadPool(parallelism,
+          Thread.ofPlatform().name("bulk-export-", 0).daemon().factory())) {
+        var chunks = new ArrayList<CompletableFuture<Void>>();
+        for (var index = 0L; index < chunkCount; index++) {
+          var chunk = index;
+          var from = fromId + index * runChunkSize;
+          var to = Math.min(toId, from + runChunkSize - 1);
+          chunks.add(CompletableFuture.runAsync(() -> exportChunk(run, chunk, from, to), pool));
+        }
+        CompletableFuture.allOf(chunks.toArray(CompletableFuture[]::new)).join();
+      }
+      run.complete();
+      var report = run.toReport();
+      log.info("Exported {} rows of {} in {} chunks ({} already done) at {} MB/s.",
+          report.getRows(), run.table().tableName(), report.getChunks(),
+          report.getChunksSkipped(), report.getMegabytesPerSecond());
+    } catch (IOException | RuntimeException e) {
+      run.fail(e);
+      log.error("Export of {} failed.", run.table().tableName(), e);
+    }
+  }
+
+  private long[] readOrWriteManifest(ExportRun run) throws IOException {
+    var manifest = run.directory().resolve(MANIFEST);
+    var properties = new Properties();
+    if (Files.exists(manifest)) {
+      try (var in = Files.newBufferedReader(manifest)) {
+        properties.load(in);
+      }
+      log.info("Resuming export of {} up to id {}.", run.table().tableName(),
+          properties.getProperty("toId"));
+    } else {
+      var bounds = jdbcTemplate.queryForObject(run.table().boundsQuery(),
+          (rs, rowNum) -> new long[] {rs.getLong(1), rs.getLong(2)});
+      properties.setProperty("table", run.table().tableName());
+      properties.setProperty("fromId", Long.toString(bounds[0]));
+      properties.setProperty("toId", Long.toString(bounds[1]));
+      properties.setProperty("chunkSize", Long.toString(chunkSize));
+      var partFile = manifest.resolveSibling(MANIFEST + ".part");
+      try (var out = Files.newBufferedWriter(partFile)) {
+        properties.store(out, null);
+      }
+      Files.move(partFile, manifest, StandardCopyOption.ATOMIC_MOVE);
+    }
+    return new long[] {Long.parseLong(properties.getProperty("fromId")),
+        Long.parseLong(properties.getProperty("toId")),
+        Long.parseLong(properties.getProperty("chunkSize"))};
+  }
+
+  private void exportChunk(ExportRun run, long chunk, long fromId, long toId) {
+    var table = run.table();
+    var file = run.directory().resolve(String.format("%s-%06d.csv.gz", table.tableName(), chunk));
+    if (Files.exists(file)) {
+      run.onChunkSkipped();
+      return;
+    }
+    var partFile = file.resolveSibling(file.getFileName() + ".part");
+    var columns = table.columns();
+    var rows = new long[1];
+    try (var channel = FileChannel.open(partFile, StandardOpenOption.CREATE,
+        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+      var gzip = new GZIPOutputStream(new ThrottledOutputStream(
+          Channels.newOutputStream(channel), run), BUFFER_SIZE);
+      var writer = new BufferedWriter(new OutputStreamWriter(gzip, StandardCharsets.UTF_8),
+          BUFFER_SIZE);
+      writeRow(writer, List.of(columns));
+      jdbcTemplate.query(table.chunkQuery(), rs -> {
+        var values = new ArrayList<String>(columns.length);
+        for (var column = 1; column <= columns.length; column++) {
+          values.add(rs.getString(column));
+        }
+        try {
+          writeRow(writer, values);
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+        rows[0]++;
+      }, fromId, toId);
+      writer.flush();
+      gzip.finish();
+      gzip.flush();
+      channel.force(true);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    try {
+      Files.move(partFile, file, StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    run.onChunkWritten(rows[0]);
+    log.debug("Exported {} rows of {} with ids {} to {}.", rows[0], table.tableName(), fromId,
+        toId);
+  }
+
+  private static void writeRow(Writer writer, List<String> values) throws IOException {
+    for (var i = 0; i < values.size(); i++) {
+      if (i > 0) {
+        writer.write(',');
+      }
+      var value = values.get(i);
+      if (value == null) {
+        continue;
+      }
+      if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0
+          || value.indexOf('\r') >= 0) {
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+      } else {
+        writer.write(value);
+      }
+    }
+    writer.write('\n');
+  }
+
+  @Override
+  public void destroy() {
+    runner.shutdownNow();
+  }
+
+  private final class ThrottledOutputStream extends FilterOutputStream {
+
+    private final ExportRun run;
+
+    private ThrottledOutputStream(OutputStream out, ExportRun run) {
+      super(out);
+      this.run = run;
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+      throttle.acquire(length);
+      out.write(bytes, offset, length);
+      run.onBytesWritten(length);
+    }
+  }
+}
@@ -0,0 +1,44 @@
+package batalskyi.technical.application.export;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Caps the combined write rate of all export writers. Like the order rate limiter it keeps only
+ * the time at which the next byte may be written: every write reserves its share of time with
+ * one CAS and parks until its reservation starts, allowing up to one second of burst.
+ */
+final class ByteThrottle {
+
+  private static final long BURST_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+  private final double nanosPerByte;
+  private final AtomicLong nextFree = new AtomicLong(System.nanoTime());
+
+  ByteThrottle(long bytesPerSecond) {
+    this.nanosPerByte = bytesPerSecond <= 0 ? 0 : (double) TimeUnit.SECONDS.toNanos(1)
+        / bytesPerSecond;
+  }
+
+  void acquire(int bytes) {
+    if (nanosPerByte == 0) {
+      return;
+    }
+    var cost = (long) (bytes * nanosPerByte);
+    long start;
+    while (true) {
+      var now = System.nanoTime();
+      var free = nextFree.get();
+      start = Math.max(free, now - BURST_NANOS);
+      if (nextFree.compareAndSet(free, start + cost)) {
+        break;
+      }
+    }
+    long waitNanos;
+    while ((waitNanos = start - System.nanoTime()) > 0
+        && !Thread.currentThread().isInterrupted()) {
+      LockSupport.parkNanos(waitNanos);
+    }
+  }
+}
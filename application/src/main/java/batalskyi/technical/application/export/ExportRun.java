@@ -0,0 +1,92 @@
+package batalskyi.technical.application.export;
+
+import batalskyi.technical.application.dto.ExportReportDTO;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress of one export. Throughput counts the compressed bytes written to disk.
+ */
+final class ExportRun {
+
+  enum State { RUNNING, COMPLETED, FAILED }
+
+  private final ExportTable table;
+  private final Path directory;
+  private final LocalDateTime startedAt = LocalDateTime.now();
+  private final long startNanos = System.nanoTime();
+  private final AtomicLong chunksDone = new AtomicLong();
+  private final AtomicLong chunksSkipped = new AtomicLong();
+  private final AtomicLong rows = new AtomicLong();
+  private final AtomicLong bytes = new AtomicLong();
+  private volatile State state = State.RUNNING;
+  private volatile long chunks;
+  private volatile long finishNanos;
+  private volatile LocalDateTime finishedAt;
+  private volatile String error;
+
+  ExportRun(ExportTable table, Path directory) {
+    this.table = table;
+    this.directory = directory;
+  }
+
+  ExportTable table() {
+    return table;
+  }
+
+  Path directory() {
+    return directory;
+  }
+
+  boolean isRunning() {
+    return state == State.RUNNING;
+  }
+
+  void begin(long chunks) {
+    this.chunks = chunks;
+  }
+
+  void onBytesWritten(int count) {
+    bytes.addAndGet(count);
+  }
+
+  void onChunkWritten(long chunkRows) {
+    rows.addAndGet(chunkRows);
+    chunksDone.incrementAndGet();
+  }
+
+  void onChunkSkipped() {
+    chunksSkipped.incrementAndGet();
+    chunksDone.incrementAndGet();
+  }
+
+  void complete() {
+    finish(State.COMPLETED);
+  }
+
+  void fail(Throwable e) {
+    var cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+    error = cause.getMessage();
+    finish(State.FAILED);
+  }
+
+  private void finish(State finalState) {
+    finishNanos = System.nanoTime();
+    finishedAt = LocalDateTime.now();
+    state = finalState;
+  }
+
+  double megabytesPerSecond() {
+    var endNanos = state == State.RUNNING ? System.nanoTime() : finishNanos;
+    var seconds = Math.max(endNanos - startNanos, 1) / 1e9;
+    return Math.round(bytes.get() / 1e6 / seconds * 100) / 100.0;
+  }
+
+  ExportReportDTO toReport() {
+    return new ExportReportDTO(state.name(), table.name(), directory.toString(), startedAt,
+        finishedAt, chunks, chunksDone.get(), chunksSkipped.get(), rows.get(), bytes.get(),
+        megabytesPerSecond(), error);
+  }
+}
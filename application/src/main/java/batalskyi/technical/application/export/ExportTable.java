@@ -0,0 +1,36 @@
+package batalskyi.technical.application.export;
+
+/**
+ * Tables that can be exported, with the columns written to the CSV files in order.
+ */
+public enum ExportTable {
+
+  ORDERS("orders", "id", "title", "supplier_id", "consumer_id", "price",
+      "processing_start_time", "processing_end_time", "created_at"),
+  CLIENTS("clients", "id", "name", "email", "address", "active", "deactivated_at");
+
+  private final String tableName;
+  private final String[] columns;
+
+  ExportTable(String tableName, String... columns) {
+    this.tableName = tableName;
+    this.columns = columns;
+  }
+
+  String tableName() {
+    return tableName;
+  }
+
+  String[] columns() {
+    return columns.clone();
+  }
+
+  String boundsQuery() {
+    return "select coalesce(min(id), 1), coalesce(max(id), 0) from " + tableName;
+  }
+
+  String chunkQuery() {
+    return "select " + String.join(", ", columns) + " from " + tableName
+        + " where id between ? and ? order by id";
+  }
+}
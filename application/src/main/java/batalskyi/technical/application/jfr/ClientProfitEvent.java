@@ -0,0 +1,39 @@
+package batalskyi.technical.application.jfr;
+
+import batalskyi.technical.application.util.Money;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("batalskyi.technical.ClientProfit")
+@Label("Client Profit Calculation")
+@Description("Profit of one client calculated from its orders")
+@Category({"OrderApp", "Clients"})
+@StackTrace(false)
+public class ClientProfitEvent extends Event {
+
+  @Label("Client Id")
+  long clientId;
+
+  @Label("Order Rows")
+  long rowCount;
+
+  @Label("Profit (minor units)")
+  long profitMinor;
+
+  public static ClientProfitEvent start(Long clientId) {
+    var event = new ClientProfitEvent();
+    event.clientId = clientId;
+    event.begin();
+    return event;
+  }
+
+  public void finish(long rowCount, Money profit) {
+    this.rowCount = rowCount;
+    this.profitMinor = profit.minorUnits();
+    commit();
+  }
+}
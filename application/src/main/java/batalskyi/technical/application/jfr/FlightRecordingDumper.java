@@ -0,0 +1,48 @@
+package batalskyi.technical.application.jfr;
+
+import batalskyi.technical.application.exception.RecordingNotAvailableException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.RecordingState;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Dumps what the running flight recordings currently hold, so a slow order can be looked at
+ * after the fact without restarting the JVM or attaching jcmd.
+ */
+@Log4j2
+@Component
+public class FlightRecordingDumper {
+
+  private final Path dumpDirectory;
+
+  public FlightRecordingDumper(@Value("${diagnostics.jfr.dump-directory}") Path dumpDirectory) {
+    this.dumpDirectory = dumpDirectory;
+  }
+
+  public Path dump(Duration maxAge) {
+    if (!FlightRecorder.isAvailable() || FlightRecorder.getFlightRecorder().getRecordings()
+        .stream().noneMatch(recording -> recording.getState() == RecordingState.RUNNING)) {
+      throw new RecordingNotAvailableException(
+          "No flight recording is running. Start the JVM with -XX:StartFlightRecording.");
+    }
+    try (var snapshot = FlightRecorder.getFlightRecorder().takeSnapshot()) {
+      if (maxAge != null) {
+        snapshot.setMaxAge(maxAge);
+      }
+      Files.createDirectories(dumpDirectory);
+      var file = Files.createTempFile(dumpDirectory, "orderapp-", ".jfr");
+      snapshot.dump(file);
+      log.info("Flight recording dumped to {} ({} bytes).", file, Files.size(file));
+      return file;
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
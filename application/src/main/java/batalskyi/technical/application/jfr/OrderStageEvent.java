@@ -0,0 +1,57 @@
+package batalskyi.technical.application.jfr;
+
+import batalskyi.technical.application.dto.OrderDTO;
+import java.util.concurrent.CompletionException;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("batalskyi.technical.OrderStage")
+@Label("Order Stage")
+@Description("One stage of order creation: validation, processing or completion")
+@Category({"OrderApp", "Orders"})
+@StackTrace(false)
+public class OrderStageEvent extends Event {
+
+  @Label("Stage")
+  String stage;
+
+  @Label("Title")
+  String title;
+
+  @Label("Supplier Id")
+  long supplierId;
+
+  @Label("Consumer Id")
+  long consumerId;
+
+  @Label("Outcome")
+  String outcome;
+
+  public static OrderStageEvent start(String stage, OrderDTO orderDTO) {
+    var event = new OrderStageEvent();
+    event.stage = stage;
+    event.title = orderDTO.getTitle();
+    event.supplierId = orderDTO.getSupplierId();
+    event.consumerId = orderDTO.getConsumerId();
+    event.begin();
+    return event;
+  }
+
+  public void finish(Throwable failure) {
+    outcome = outcomeOf(failure, "COMPLETED");
+    commit();
+  }
+
+  static String outcomeOf(Throwable failure, String success) {
+    if (failure == null) {
+      return success;
+    }
+    var cause = failure instanceof CompletionException && failure.getCause() != null
+        ? failure.getCause() : failure;
+    return cause.getClass().getSimpleName();
+  }
+}
@@ -0,0 +1,44 @@
+package batalskyi.technical.application.jfr;
+
+import batalskyi.technical.application.dto.OrderDTO;
+import batalskyi.technical.application.util.Money;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("batalskyi.technical.OrderValidation")
+@Label("Order Validation")
+@Description("Outcome of the business rules checked before an order is processed")
+@Category({"OrderApp", "Orders"})
+@StackTrace(false)
+public class OrderValidationEvent extends Event {
+
+  @Label("Supplier Id")
+  long supplierId;
+
+  @Label("Consumer Id")
+  long consumerId;
+
+  @Label("Price (minor units)")
+  long priceMinor;
+
+  @Label("Outcome")
+  String outcome;
+
+  public static OrderValidationEvent start(OrderDTO orderDTO) {
+    var event = new OrderValidationEvent();
+    event.supplierId = orderDTO.getSupplierId();
+    event.consumerId = orderDTO.getConsumerId();
+    event.priceMinor = Money.of(orderDTO.getPrice()).minorUnits();
+    event.begin();
+    return event;
+  }
+
+  public void finish(Throwable failure) {
+    outcome = OrderStageEvent.outcomeOf(failure, "ACCEPTED");
+    commit();
+  }
+}
@@ -0,0 +1,42 @@
+package batalskyi.technical.application.jfr;
+
+import batalskyi.technical.application.util.Money;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("batalskyi.technical.ProfitRangeSearch")
+@Label("Profit Range Search")
+@Description("Aggregate query for clients in a profit range, including streaming of the matches")
+@Category({"OrderApp", "Clients"})
+@StackTrace(false)
+public class ProfitRangeSearchEvent extends Event {
+
+  @Label("Min (minor units)")
+  long minMinor;
+
+  @Label("Max (minor units)")
+  long maxMinor;
+
+  @Label("Matched Clients")
+  long matched;
+
+  public static ProfitRangeSearchEvent start(Money min, Money max) {
+    var event = new ProfitRangeSearchEvent();
+    event.minMinor = min.minorUnits();
+    event.maxMinor = max.minorUnits();
+    event.begin();
+    return event;
+  }
+
+  public void onMatch() {
+    matched++;
+  }
+
+  public void finish() {
+    commit();
+  }
+}
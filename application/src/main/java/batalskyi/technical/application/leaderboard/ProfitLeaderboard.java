@@ -0,0 +1,184 @@
+package batalskyi.technical.application.leaderboard;
+
+import batalskyi.technical.application.dto.ClientProfitDTO;
+import batalskyi.technical.application.events.ClientDeactivatedEvent;
+import batalskyi.technical.application.events.ClientReactivatedEvent;
+import batalskyi.technical.application.events.OrderCommittedEvent;
+import batalskyi.technical.application.exception.AttributeMismatchException;
+import batalskyi.technical.application.repository.ClientRepository;
+import batalskyi.technical.application.util.LongLongHashMap;
+import batalskyi.technical.application.util.Money;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.Executors;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Active clients that have orders, ordered by profit and then id in a skip list, so the best
+ * suppliers and the most exposed consumers are read off either end without computing anyone's
+ * profit. Built from the database in parallel id ranges before the server accepts requests and
+ * then kept current from order commits and (de)activations.
+ */
+@Log4j2
+@Lazy(false)
+@Component
+public class ProfitLeaderboard implements SmartInitializingSingleton {
+
+  private static final Comparator<Standing> BY_PROFIT =
+      Comparator.comparingLong(Standing::profitMinor).thenComparing(Standing::clientId);
+
+  private final ConcurrentHashMap<Long, Standing> standings = new ConcurrentHashMap<>();
+  private final ConcurrentSkipListSet<Standing> ranking = new ConcurrentSkipListSet<>(BY_PROFIT);
+  private final ClientRepository clientRepository;
+  private final TransactionTemplate readOnlyTransaction;
+  private final int rebuildThreads;
+  private final int maxLimit;
+
+  public ProfitLeaderboard(ClientRepository clientRepository,
+      PlatformTransactionManager transactionManager,
+      @Value("${order.leaderboard.rebuild-threads}") int rebuildThreads,
+      @Value("${order.leaderboard.max-limit}") int maxLimit) {
+    this.clientRepository = clientRepository;
+    this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+    this.readOnlyTransaction.setReadOnly(true);
+    this.rebuildThreads = rebuildThreads;
+    this.maxLimit = maxLimit;
+  }
+
+  @Override
+  public void afterSingletonsInstantiated() {
+    var startNanos = System.nanoTime();
+    long maxId = readOnlyTransaction.execute(status -> clientRepository.findMaxId());
+    var chunkSize = maxId / (rebuildThreads * 4L) + 1;
+    try (var pool = Executors.newFixedThreadPool(rebuildThreads,
+        Thread.ofPlatform().name("leaderboard-rebuild-", 0).daemon().factory())) {
+      var chunks = new ArrayList<CompletableFuture<Void>>();
+      for (var minId = 1L; minId <= maxId; minId += chunkSize) {
+        var from = minId;
+        var to = Math.min(maxId, minId + chunkSize - 1);
+        chunks.add(CompletableFuture.runAsync(() -> load(from, to), pool));
+      }
+      CompletableFuture.allOf(chunks.toArray(CompletableFuture[]::new)).join();
+    }
+    log.info("Profit leaderboard built from {} clients in {} ms.", standings.size(),
+        (System.nanoTime() - startNanos) / 1_000_000);
+  }
+
+  private void load(long minId, long maxId) {
+    var loaded = readOnlyTransaction.execute(status ->
+        clientRepository.findStandingsBetweenIds(minId, maxId));
+    for (var standing : loaded) {
+      var entry = new Standing(standing.getClientId(), Money.toMinor(standing.getProfit()),
+          standing.isActive());
+      standings.put(entry.clientId(), entry);
+      if (entry.active()) {
+        ranking.add(entry);
+      }
+    }
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onOrderCommitted(OrderCommittedEvent event) {
+    var order = event.getOrder();
+    var priceMinor = Money.toMinor(order.getPrice());
+    standings.compute(order.getSupplierId(), (clientId, old) -> replace(old, old == null
+        ? new Standing(clientId, priceMinor, true)
+        : new Standing(clientId, Math.addExact(old.profitMinor(), priceMinor), old.active())));
+    standings.compute(order.getConsumerId(), (clientId, old) -> replace(old, old == null
+        ? new Standing(clientId, -priceMinor, true)
+        : new Standing(clientId, Math.subtractExact(old.profitMinor(), priceMinor),
+            old.active())));
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onClientDeactivated(ClientDeactivatedEvent event) {
+    standings.computeIfPresent(event.getClientId(), (clientId, old) ->
+        replace(old, new Standing(clientId, old.profitMinor(), false)));
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onClientReactivated(ClientReactivatedEvent event) {
+    standings.computeIfPresent(event.getClientId(), (clientId, old) ->
+        replace(old, new Standing(clientId, old.profitMinor(), true)));
+  }
+
+  private Standing replace(Standing old, Standing updated) {
+    if (old != null && old.active()) {
+      ranking.remove(old);
+    }
+    if (updated.active()) {
+      ranking.add(updated);
+    }
+    return updated;
+  }
+
+  /**
+   * Profit in minor units of every client the leaderboard tracks, active or not.
+   */
+  public LongLongHashMap snapshot() {
+    var snapshot = new LongLongHashMap(standings.size());
+    standings.values().forEach(standing ->
+        snapshot.addTo(standing.clientId(), standing.profitMinor()));
+    return snapshot;
+  }
+
+  /**
+   * Overwrites the profit of a client, unless an order changed it since it was read as
+   * {@code observedMinor}.
+   */
+  public boolean correct(Long clientId, long observedMinor, long correctedMinor) {
+    var corrected = new boolean[1];
+    standings.compute(clientId, (id, old) -> {
+      var observed = old == null ? 0L : old.profitMinor();
+      if (observed != observedMinor) {
+        return old;
+      }
+      corrected[0] = true;
+      return replace(old, new Standing(id, correctedMinor, old == null || old.active()));
+    });
+    return corrected[0];
+  }
+
+  public List<ClientProfitDTO> top(int limit) {
+    return collect(ranking.descendingIterator(), limit);
+  }
+
+  public List<ClientProfitDTO> bottom(int limit) {
+    return collect(ranking.iterator(), limit);
+  }
+
+  private List<ClientProfitDTO> collect(Iterator<Standing> iterator, int limit) {
+    if (limit < 1 || limit > maxLimit) {
+      log.error("Leaderboard limit {} is not supported.", limit);
+      throw new AttributeMismatchException("Limit should be between 1 and " + maxLimit + ".");
+    }
+    var result = new ArrayList<ClientProfitDTO>(limit);
+    // an update racing the iteration can show the same client at its old and new position
+    var seen = new HashSet<Long>();
+    while (iterator.hasNext() && result.size() < limit) {
+      var standing = iterator.next();
+      if (seen.add(standing.clientId())) {
+        result.add(new ClientProfitDTO(standing.clientId(),
+            Money.ofMinor(standing.profitMinor()).toBigDecimal()));
+      }
+    }
+    return result;
+  }
+
+  private record Standing(Long clientId, long profitMinor, boolean active) {
+
+  }
+}
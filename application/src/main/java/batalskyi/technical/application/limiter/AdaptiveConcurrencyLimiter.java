@@ -0,0 +1,153 @@
+package batalskyi.technical.application.limiter;
+
+import batalskyi.technical.application.exception.OrderOverloadException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Gradient based concurrency limit for order submission. The limit follows the ratio between
+ * the long-term and the recent latency: it grows while latency stays flat and shrinks as soon as
+ * requests start to queue, so excess load is rejected up front instead of waiting on Tomcat and
+ * connection pool queues. A permit covers the synchronous part of the submission (validation and
+ * recording the order as pending) and its latency is the sample: the processing delay after it
+ * holds no thread or connection, so orders waiting on it do not count against the limit.
+ */
+@Log4j2
+@Component
+public class AdaptiveConcurrencyLimiter {
+
+  private static final double LONG_RTT_WINDOW = 600;
+  private static final double SHORT_RTT_WINDOW = 10;
+  private static final double BACKOFF_RATIO = 0.9;
+
+  private final int minLimit;
+  private final int maxLimit;
+  private final double smoothing;
+  private final double rttTolerance;
+  private final long retryAfterSeconds;
+
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final MeterRegistry meterRegistry;
+  private final Counter rejected;
+  private volatile int limit;
+  private double estimatedLimit;
+  private double shortRttNanos;
+  private double longRttNanos;
+
+  public AdaptiveConcurrencyLimiter(MeterRegistry meterRegistry,
+      @Value("${order.admission.initial-limit}") int initialLimit,
+      @Value("${order.admission.min-limit}") int minLimit,
+      @Value("${order.admission.max-limit}") int maxLimit,
+      @Value("${order.admission.smoothing}") double smoothing,
+      @Value("${order.admission.rtt-tolerance}") double rttTolerance,
+      @Value("${order.admission.retry-after-seconds}") long retryAfterSeconds) {
+    this.meterRegistry = meterRegistry;
+    this.minLimit = minLimit;
+    this.maxLimit = maxLimit;
+    this.smoothing = smoothing;
+    this.rttTolerance = rttTolerance;
+    this.retryAfterSeconds = retryAfterSeconds;
+    this.limit = initialLimit;
+    this.estimatedLimit = initialLimit;
+    this.rejected = Counter.builder("order.admission.rejected").register(meterRegistry);
+  }
+
+  @PostConstruct
+  void registerGauges() {
+    Gauge.builder("order.admission.limit", this, limiter -> limiter.limit)
+        .register(meterRegistry);
+    Gauge.builder("order.admission.inflight", inFlight, AtomicInteger::get)
+        .register(meterRegistry);
+  }
+
+  public Permit acquire() {
+    while (true) {
+      var current = inFlight.get();
+      if (current >= limit) {
+        rejected.increment();
+        throw new OrderOverloadException(
+            "Order service is overloaded, retry later.", retryAfterSeconds);
+      }
+      if (inFlight.compareAndSet(current, current + 1)) {
+        return new Permit(current + 1);
+      }
+    }
+  }
+
+  private synchronized void onSample(long rttNanos, int inFlightAtStart, boolean dropped) {
+    if (dropped) {
+      estimatedLimit = Math.max(minLimit, estimatedLimit * BACKOFF_RATIO);
+    } else {
+      if (longRttNanos == 0) {
+        longRttNanos = rttNanos;
+        shortRttNanos = rttNanos;
+      }
+      shortRttNanos += (rttNanos - shortRttNanos) / SHORT_RTT_WINDOW;
+      longRttNanos += (rttNanos - longRttNanos) / LONG_RTT_WINDOW;
+      if (longRttNanos / shortRttNanos > 2) {
+        longRttNanos *= 0.95;
+      }
+      if (inFlightAtStart < estimatedLimit / 2) {
+        return;
+      }
+      var gradient = Math.max(0.5, Math.min(1.0, rttTolerance * longRttNanos / shortRttNanos));
+      var queueSize = Math.sqrt(estimatedLimit);
+      var newLimit = estimatedLimit * gradient + queueSize;
+      newLimit = estimatedLimit * (1 - smoothing) + newLimit * smoothing;
+      estimatedLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+    }
+    var previous = limit;
+    limit = (int) estimatedLimit;
+    if (previous != limit) {
+      log.debug("Order admission limit changed from {} to {}.", previous, limit);
+    }
+  }
+
+  public final class Permit {
+
+    private final long startNanos = System.nanoTime();
+    private final int inFlightAtStart;
+    private final AtomicBoolean released = new AtomicBoolean();
+    private final AtomicBoolean dropped = new AtomicBoolean();
+
+    private Permit(int inFlightAtStart) {
+      this.inFlightAtStart = inFlightAtStart;
+    }
+
+    /**
+     * Releases the permit once the order is accepted and records the latency up to here.
+     */
+    public void onHandled() {
+      if (released.compareAndSet(false, true)) {
+        inFlight.decrementAndGet();
+        onSample(System.nanoTime() - startNanos, inFlightAtStart, false);
+      }
+    }
+
+    /**
+     * Backs the limit off for a request that timed out or found no connection, also when it
+     * failed after the permit was already released.
+     */
+    public void onDropped() {
+      if (released.compareAndSet(false, true)) {
+        inFlight.decrementAndGet();
+      }
+      if (dropped.compareAndSet(false, true)) {
+        onSample(System.nanoTime() - startNanos, inFlightAtStart, true);
+      }
+    }
+
+    public void release() {
+      if (released.compareAndSet(false, true)) {
+        inFlight.decrementAndGet();
+      }
+    }
+  }
+}
@@ -0,0 +1,109 @@
+package batalskyi.technical.application.limiter;
+
+import batalskyi.technical.application.exception.RateLimitExceededException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Per-client token buckets for order submission, one set keyed by consumer id and one by
+ * supplier id. Each bucket is a single {@link AtomicLong} holding the theoretical arrival time of
+ * the next request (GCRA), so a check is one read and one CAS.
+ */
+@Log4j2
+@Component
+public class ClientRateLimiter {
+
+  private final Cache<Long, AtomicLong> consumerBuckets;
+  private final Cache<Long, AtomicLong> supplierBuckets;
+  private final long consumerIntervalNanos;
+  private final long consumerBurstNanos;
+  private final long supplierIntervalNanos;
+  private final long supplierBurstNanos;
+
+  public ClientRateLimiter(
+      @Value("${order.rate-limit.consumer.permits-per-second}") double consumerRate,
+      @Value("${order.rate-limit.consumer.burst}") int consumerBurst,
+      @Value("${order.rate-limit.supplier.permits-per-second}") double supplierRate,
+      @Value("${order.rate-limit.supplier.burst}") int supplierBurst,
+      @Value("${order.rate-limit.max-tracked-clients}") long maxTrackedClients) {
+    this.consumerIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / consumerRate);
+    this.consumerBurstNanos = consumerIntervalNanos * consumerBurst;
+    this.supplierIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / supplierRate);
+    this.supplierBurstNanos = supplierIntervalNanos * supplierBurst;
+    var idleExpiry = Duration.ofNanos(Math.max(consumerBurstNanos, supplierBurstNanos))
+        .plusMinutes(1);
+    this.consumerBuckets = Caffeine.newBuilder()
+        .maximumSize(maxTrackedClients)
+        .expireAfterAccess(idleExpiry)
+        .build();
+    this.supplierBuckets = Caffeine.newBuilder()
+        .maximumSize(maxTrackedClients)
+        .expireAfterAccess(idleExpiry)
+        .build();
+  }
+
+  /**
+   * Takes a token from the consumer's and the supplier's bucket, or from neither: when the
+   * supplier is over its rate the consumer's token is given back.
+   */
+  public void checkOrderSubmission(Long supplierId, Long consumerId) {
+    if (consumerId != null) {
+      var waitNanos = tryTake(consumerBuckets, consumerId, consumerIntervalNanos,
+          consumerBurstNanos);
+      if (waitNanos > 0) {
+        log.warn("Order rate limit exceeded for consumer with id {}.", consumerId);
+        throw new RateLimitExceededException(
+            "Order rate limit exceeded for consumer " + consumerId, retryAfterSeconds(waitNanos));
+      }
+    }
+    if (supplierId != null) {
+      var waitNanos = tryTake(supplierBuckets, supplierId, supplierIntervalNanos,
+          supplierBurstNanos);
+      if (waitNanos > 0) {
+        if (consumerId != null) {
+          giveBack(consumerBuckets, consumerId, consumerIntervalNanos);
+        }
+        log.warn("Order rate limit exceeded for supplier with id {}.", supplierId);
+        throw new RateLimitExceededException(
+            "Order rate limit exceeded for supplier " + supplierId, retryAfterSeconds(waitNanos));
+      }
+    }
+  }
+
+  /**
+   * Returns 0 when a token was taken, otherwise how long until the bucket has one again.
+   */
+  private static long tryTake(Cache<Long, AtomicLong> buckets, Long clientId,
+      long intervalNanos, long burstNanos) {
+    var bucket = buckets.get(clientId, id -> new AtomicLong(System.nanoTime()));
+    var now = System.nanoTime();
+    while (true) {
+      var arrival = bucket.get();
+      var nextArrival = Math.max(arrival, now) + intervalNanos;
+      if (nextArrival - now > burstNanos) {
+        return nextArrival - now - burstNanos;
+      }
+      if (bucket.compareAndSet(arrival, nextArrival)) {
+        return 0;
+      }
+    }
+  }
+
+  private static void giveBack(Cache<Long, AtomicLong> buckets, Long clientId,
+      long intervalNanos) {
+    var bucket = buckets.getIfPresent(clientId);
+    if (bucket != null) {
+      bucket.addAndGet(-intervalNanos);
+    }
+  }
+
+  private static long retryAfterSeconds(long waitNanos) {
+    return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+  }
+}
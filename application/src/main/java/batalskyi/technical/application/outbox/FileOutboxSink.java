@@ -0,0 +1,46 @@
+package batalskyi.technical.application.outbox;
+
+import batalskyi.technical.application.dto.OutboxEnvelopeDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Appends every message as a JSON line to a local file, for development and tests.
+ */
+public class FileOutboxSink implements OutboxSink {
+
+  private final ObjectMapper objectMapper;
+  private final Path file;
+
+  public FileOutboxSink(ObjectMapper objectMapper, Path file) {
+    this.objectMapper = objectMapper;
+    this.file = file;
+  }
+
+  @Override
+  public void deliver(List<OutboxEnvelopeDTO> messages) throws IOException {
+    var lines = new ByteArrayOutputStream();
+    for (var message : messages) {
+      lines.write(objectMapper.writeValueAsBytes(message));
+      lines.write('\n');
+    }
+    if (file.getParent() != null) {
+      Files.createDirectories(file.getParent());
+    }
+    try (var channel = FileChannel.open(file, StandardOpenOption.CREATE,
+        StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+      var buffer = ByteBuffer.wrap(lines.toByteArray());
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+      channel.force(false);
+    }
+  }
+}
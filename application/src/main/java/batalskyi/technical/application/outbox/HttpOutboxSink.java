@@ -0,0 +1,55 @@
+package batalskyi.technical.application.outbox;
+
+import batalskyi.technical.application.dto.OutboxEnvelopeDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+/**
+ * Posts every batch as one NDJSON request body; any status other than 2xx fails the batch.
+ */
+public class HttpOutboxSink implements OutboxSink {
+
+  private final ObjectMapper objectMapper;
+  private final URI url;
+  private final Duration timeout;
+  private final HttpClient httpClient;
+
+  public HttpOutboxSink(ObjectMapper objectMapper, URI url, Duration timeout) {
+    this.objectMapper = objectMapper;
+    this.url = url;
+    this.timeout = timeout;
+    this.httpClient = HttpClient.newBuilder().connectTimeout(timeout).build();
+  }
+
+  @Override
+  public void deliver(List<OutboxEnvelopeDTO> messages) throws IOException {
+    var body = new ByteArrayOutputStream();
+    for (var message : messages) {
+      body.write(objectMapper.writeValueAsBytes(message));
+      body.write('\n');
+    }
+    var request = HttpRequest.newBuilder(url)
+        .timeout(timeout)
+        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_NDJSON_VALUE)
+        .POST(HttpRequest.BodyPublishers.ofByteArray(body.toByteArray()))
+        .build();
+    try {
+      var response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+      if (response.statusCode() / 100 != 2) {
+        throw new IOException("Outbox sink answered " + response.statusCode() + ".");
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while delivering outbox messages.", e);
+    }
+  }
+}
@@ -0,0 +1,173 @@
+package batalskyi.technical.application.outbox;
+
+import batalskyi.technical.application.dto.OutboxEnvelopeDTO;
+import batalskyi.technical.application.entity.OutboxMessage;
+import batalskyi.technical.application.events.ClientDeactivatedEvent;
+import batalskyi.technical.application.events.OrderCommittedEvent;
+import batalskyi.technical.application.repository.OutboxMessageRepository;
+import batalskyi.technical.application.service.OrderService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Delivers outbox messages to the {@link OutboxSink} in id order from a single thread, so no
+ * request thread ever waits on a downstream system. A batch is sent once it is full or its
+ * oldest message has waited for the linger time; messages are deleted only after the sink
+ * accepted them, and a failed batch is retried after a backoff, which makes delivery
+ * at-least-once. The relay is woken by commits while idle and otherwise polls. It stops after
+ * OrderService, so messages of orders committed while draining are still sent.
+ */
+@Log4j2
+@Lazy(false)
+@Component
+public class OutboxRelay implements SmartLifecycle {
+
+  private final OutboxMessageRepository outboxRepository;
+  private final OutboxSink sink;
+  private final TransactionTemplate relayTransaction;
+  private final int batchSize;
+  private final long lingerNanos;
+  private final long pollIntervalNanos;
+  private final long retryBackoffNanos;
+  private final MeterRegistry meterRegistry;
+  private final Counter delivered;
+  private final Counter failed;
+  private final Timer lag;
+  private volatile Thread relay;
+  private volatile boolean running;
+  private volatile boolean idle;
+  private volatile LocalDateTime oldestPending;
+
+  public OutboxRelay(OutboxMessageRepository outboxRepository, OutboxSink sink,
+      PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+      @Value("${order.outbox.batch-size}") int batchSize,
+      @Value("${order.outbox.linger}") Duration linger,
+      @Value("${order.outbox.poll-interval}") Duration pollInterval,
+      @Value("${order.outbox.retry-backoff}") Duration retryBackoff) {
+    this.outboxRepository = outboxRepository;
+    this.sink = sink;
+    this.relayTransaction = new TransactionTemplate(transactionManager);
+    this.batchSize = batchSize;
+    this.lingerNanos = linger.toNanos();
+    this.pollIntervalNanos = pollInterval.toNanos();
+    this.retryBackoffNanos = retryBackoff.toNanos();
+    this.meterRegistry = meterRegistry;
+    this.delivered = Counter.builder("order.outbox.delivered").register(meterRegistry);
+    this.failed = Counter.builder("order.outbox.failed").register(meterRegistry);
+    this.lag = Timer.builder("order.outbox.lag").register(meterRegistry);
+  }
+
+  @PostConstruct
+  void registerGauge() {
+    Gauge.builder("order.outbox.oldest.age", this, OutboxRelay::oldestPendingSeconds)
+        .baseUnit("seconds")
+        .register(meterRegistry);
+  }
+
+  @Override
+  public void start() {
+    running = true;
+    relay = Thread.ofPlatform().name("outbox-relay").daemon().start(this::relay);
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onOrderCommitted(OrderCommittedEvent event) {
+    wakeUp();
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onClientDeactivated(ClientDeactivatedEvent event) {
+    wakeUp();
+  }
+
+  private void wakeUp() {
+    var thread = relay;
+    if (idle && thread != null) {
+      LockSupport.unpark(thread);
+    }
+  }
+
+  private void relay() {
+    while (running) {
+      try {
+        // set before reading, so a commit racing an empty read still wakes the park below
+        idle = true;
+        var batch = outboxRepository.findByOrderById(Limit.of(batchSize));
+        oldestPending = batch.isEmpty() ? null : batch.getFirst().getCreatedAt();
+        if (batch.isEmpty()) {
+          LockSupport.parkNanos(pollIntervalNanos);
+          continue;
+        }
+        idle = false;
+        var waitedNanos = Duration.between(batch.getFirst().getCreatedAt(),
+            LocalDateTime.now()).toNanos();
+        if (batch.size() < batchSize && waitedNanos < lingerNanos) {
+          LockSupport.parkNanos(lingerNanos - waitedNanos);
+          continue;
+        }
+        deliver(batch);
+      } catch (IOException | RuntimeException e) {
+        failed.increment();
+        log.warn("Outbox delivery failed, retrying in {} ms: {}",
+            Duration.ofNanos(retryBackoffNanos).toMillis(), e.toString());
+        LockSupport.parkNanos(retryBackoffNanos);
+      }
+    }
+  }
+
+  private void deliver(List<OutboxMessage> batch) throws IOException {
+    sink.deliver(batch.stream()
+        .map(message -> new OutboxEnvelopeDTO(message.getId(), message.getType(),
+            message.getAggregateId(), message.getCreatedAt(), message.getPayload()))
+        .toList());
+    relayTransaction.executeWithoutResult(status -> outboxRepository.deleteAllByIdInBatch(
+        batch.stream().map(OutboxMessage::getId).toList()));
+    var now = LocalDateTime.now();
+    batch.forEach(message -> lag.record(Duration.between(message.getCreatedAt(), now)));
+    delivered.increment(batch.size());
+    log.debug("Delivered {} outbox messages.", batch.size());
+  }
+
+  private double oldestPendingSeconds() {
+    var oldest = oldestPending;
+    return oldest == null ? 0 : Duration.between(oldest, LocalDateTime.now()).toMillis() / 1000.0;
+  }
+
+  @Override
+  public void stop() {
+    running = false;
+    LockSupport.unpark(relay);
+    try {
+      relay.join(Duration.ofSeconds(10));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+
+  @Override
+  public int getPhase() {
+    return OrderService.PHASE - 1;
+  }
+}
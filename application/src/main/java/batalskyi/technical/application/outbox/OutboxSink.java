@@ -0,0 +1,14 @@
+package batalskyi.technical.application.outbox;
+
+import batalskyi.technical.application.dto.OutboxEnvelopeDTO;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Destination of outbox messages. A batch counts as delivered once this returns; if it throws,
+ * the same messages are offered again later, so receivers should deduplicate on the message id.
+ */
+public interface OutboxSink {
+
+  void deliver(List<OutboxEnvelopeDTO> messages) throws IOException;
+}
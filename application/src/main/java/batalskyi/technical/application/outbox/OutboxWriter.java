@@ -0,0 +1,47 @@
+package batalskyi.technical.application.outbox;
+
+import batalskyi.technical.application.entity.OutboxMessage;
+import batalskyi.technical.application.events.ClientDeactivatedEvent;
+import batalskyi.technical.application.events.OrderCommittedEvent;
+import batalskyi.technical.application.repository.OutboxMessageRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Records the events downstream systems are notified of as outbox messages. It listens
+ * synchronously, so the message is inserted in the transaction that saves the order or
+ * deactivates the client and is committed or rolled back together with it.
+ */
+@Component
+@RequiredArgsConstructor
+public class OutboxWriter {
+
+  private final OutboxMessageRepository outboxRepository;
+  private final ObjectMapper objectMapper;
+
+  @EventListener
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void onOrderCommitted(OrderCommittedEvent event) {
+    append(event.eventName(), event.getOrder().getId(), event.getOrder());
+  }
+
+  @EventListener
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void onClientDeactivated(ClientDeactivatedEvent event) {
+    append(event.eventName(), event.getClientId(), event);
+  }
+
+  private void append(String type, Long aggregateId, Object payload) {
+    try {
+      outboxRepository.save(new OutboxMessage(type, aggregateId,
+          objectMapper.writeValueAsString(payload)));
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Outbox payload of " + type + " is not serializable.", e);
+    }
+  }
+}
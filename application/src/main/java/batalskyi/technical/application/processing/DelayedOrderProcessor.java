@@ -0,0 +1,96 @@
+package batalskyi.technical.application.processing;
+
+import batalskyi.technical.application.dto.OrderDTO;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.springframework.context.SmartLifecycle;
+
+/**
+ * Simulates order processing without parking a thread per order: the completion is scheduled on
+ * a small timer pool and the order resumes on a separate pool, so timers never wait on
+ * database work. On stop every completion that has not fired yet fails with a
+ * {@link RejectedExecutionException}; the phase is set so that OrderService has settled its
+ * orders by then.
+ */
+public class DelayedOrderProcessor implements OrderProcessor, SmartLifecycle {
+
+  private static final long RESUME_TERMINATION_SECONDS = 5;
+
+  private final ProcessingDelay processingDelay;
+  private final ScheduledExecutorService timer;
+  private final ExecutorService resumeExecutor;
+  private final Set<CompletableFuture<Void>> scheduled = ConcurrentHashMap.newKeySet();
+  private final int phase;
+  private volatile boolean running;
+
+  public DelayedOrderProcessor(ProcessingDelay processingDelay, int timerThreads,
+      int resumeThreads, int phase) {
+    this.processingDelay = processingDelay;
+    this.phase = phase;
+    this.timer = Executors.newScheduledThreadPool(timerThreads,
+        Thread.ofPlatform().name("order-timer-", 0).daemon().factory());
+    this.resumeExecutor = Executors.newFixedThreadPool(resumeThreads,
+        Thread.ofPlatform().name("order-resume-", 0).daemon().factory());
+  }
+
+  /**
+   * Throws {@link RejectedExecutionException} when the processor is already shut down.
+   */
+  @Override
+  public CompletableFuture<Void> process(OrderDTO orderDTO) {
+    var completion = new CompletableFuture<Void>();
+    scheduled.add(completion);
+    completion.whenComplete((ignored, e) -> scheduled.remove(completion));
+    var delay = processingDelay.next();
+    try {
+      timer.schedule(() -> resume(completion), delay.toMillis(), TimeUnit.MILLISECONDS);
+    } catch (RejectedExecutionException e) {
+      scheduled.remove(completion);
+      throw e;
+    }
+    return completion;
+  }
+
+  private void resume(CompletableFuture<Void> completion) {
+    try {
+      resumeExecutor.execute(() -> completion.complete(null));
+    } catch (RejectedExecutionException e) {
+      completion.completeExceptionally(e);
+    }
+  }
+
+  @Override
+  public void start() {
+    running = true;
+  }
+
+  @Override
+  public void stop() {
+    running = false;
+    timer.shutdownNow();
+    resumeExecutor.shutdown();
+    var cancelled = new RejectedExecutionException("Order processor was shut down.");
+    scheduled.forEach(completion -> completion.completeExceptionally(cancelled));
+    try {
+      resumeExecutor.awaitTermination(RESUME_TERMINATION_SECONDS, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+
+  @Override
+  public int getPhase() {
+    return phase;
+  }
+}
@@ -0,0 +1,9 @@
+package batalskyi.technical.application.processing;
+
+import batalskyi.technical.application.dto.OrderDTO;
+import java.util.concurrent.CompletableFuture;
+
+public interface OrderProcessor {
+
+  CompletableFuture<Void> process(OrderDTO orderDTO);
+}
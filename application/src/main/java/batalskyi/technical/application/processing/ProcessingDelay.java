@@ -0,0 +1,30 @@
+package batalskyi.technical.application.processing;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@FunctionalInterface
+public interface ProcessingDelay {
+
+  Duration next();
+
+  static ProcessingDelay fixed(Duration delay) {
+    return () -> delay;
+  }
+
+  static ProcessingDelay uniform(Duration min, Duration max) {
+    var minMillis = min.toMillis();
+    var maxMillis = max.toMillis();
+    return () -> Duration.ofMillis(ThreadLocalRandom.current().nextLong(minMillis, maxMillis + 1));
+  }
+
+  static ProcessingDelay replay(List<Duration> trace) {
+    if (trace.isEmpty()) {
+      throw new IllegalArgumentException("Processing delay trace is empty.");
+    }
+    var position = new AtomicInteger();
+    return () -> trace.get(Math.floorMod(position.getAndIncrement(), trace.size()));
+  }
+}
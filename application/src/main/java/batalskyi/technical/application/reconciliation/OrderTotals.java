@@ -0,0 +1,39 @@
+package batalskyi.technical.application.reconciliation;
+
+import batalskyi.technical.application.util.LongLongHashMap;
+
+/**
+ * Sales and purchases per client id, in minor units.
+ */
+final class OrderTotals {
+
+  final LongLongHashMap sales;
+  final LongLongHashMap purchases;
+
+  OrderTotals() {
+    this(new LongLongHashMap(), new LongLongHashMap());
+  }
+
+  OrderTotals(LongLongHashMap sales, LongLongHashMap purchases) {
+    this.sales = sales;
+    this.purchases = purchases;
+  }
+
+  void add(long supplierId, long consumerId, long priceMinor) {
+    sales.addTo(supplierId, priceMinor);
+    purchases.addTo(consumerId, priceMinor);
+  }
+
+  OrderTotals merge(OrderTotals other) {
+    return new OrderTotals(merge(sales, other.sales), merge(purchases, other.purchases));
+  }
+
+  private static LongLongHashMap merge(LongLongHashMap left, LongLongHashMap right) {
+    if (left.size() < right.size()) {
+      right.addAll(left);
+      return right;
+    }
+    left.addAll(right);
+    return left;
+  }
+}
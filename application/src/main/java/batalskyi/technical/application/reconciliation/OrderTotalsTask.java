@@ -0,0 +1,38 @@
+package batalskyi.technical.application.reconciliation;
+
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BiFunction;
+
+/**
+ * Splits an order id range in halves until it is one chunk, scans the chunks on the fork-join
+ * workers and merges their per-client totals on the way back up.
+ */
+final class OrderTotalsTask extends RecursiveTask<OrderTotals> {
+
+  private final long fromId;
+  private final long toId;
+  private final long chunkSize;
+  private final BiFunction<Long, Long, OrderTotals> chunkScanner;
+
+  OrderTotalsTask(long fromId, long toId, long chunkSize,
+      BiFunction<Long, Long, OrderTotals> chunkScanner) {
+    this.fromId = fromId;
+    this.toId = toId;
+    this.chunkSize = chunkSize;
+    this.chunkScanner = chunkScanner;
+  }
+
+  @Override
+  protected OrderTotals compute() {
+    if (toId - fromId < chunkSize) {
+      return chunkScanner.apply(fromId, toId);
+    }
+    var chunks = (toId - fromId) / chunkSize + 1;
+    var middle = fromId + chunks / 2 * chunkSize;
+    var left = new OrderTotalsTask(fromId, middle - 1, chunkSize, chunkScanner);
+    var right = new OrderTotalsTask(middle, toId, chunkSize, chunkScanner);
+    left.fork();
+    var rightTotals = right.compute();
+    return left.join().merge(rightTotals);
+  }
+}
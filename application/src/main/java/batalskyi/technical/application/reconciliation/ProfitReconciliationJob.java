@@ -0,0 +1,203 @@
+package batalskyi.technical.application.reconciliation;
+
+import batalskyi.technical.application.dto.ReconciliationReportDTO;
+import batalskyi.technical.application.events.OrderCommittedEvent;
+import batalskyi.technical.application.exception.ReconciliationInProgressException;
+import batalskyi.technical.application.leaderboard.ProfitLeaderboard;
+import batalskyi.technical.application.util.LongLongHashMap;
+import batalskyi.technical.application.util.Money;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.sql.DataSource;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Recomputes every client's sales and purchases from the orders table and the archived totals
+ * and compares them with the derived state: the in-memory leaderboard and the daily profit
+ * rollups. The table is scanned in id-range chunks by a fork-join pool, each chunk aggregated
+ * into primitive maps and the maps merged pairwise, so the scan scales with the workers and
+ * never holds more than one entry per client and worker. A run that only reports scans the read
+ * pool; a run that repairs scans the write pool, since the read pool may point at a replica that
+ * lags behind the leaderboard it would overwrite.
+ */
+@Log4j2
+@Component
+public class ProfitReconciliationJob implements DisposableBean {
+
+  private static final String LEADERBOARD = "leaderboard";
+  private static final String ROLLUPS = "rollups";
+
+  private final JdbcTemplate readJdbcTemplate;
+  private final JdbcTemplate writeJdbcTemplate;
+  private final ProfitLeaderboard leaderboard;
+  private final ForkJoinPool pool;
+  private final long chunkSize;
+  private final int maxReported;
+  private final AtomicReference<ReconciliationRun> current = new AtomicReference<>();
+
+  public ProfitReconciliationJob(@Qualifier("readDataSource") DataSource readDataSource,
+      @Qualifier("writeDataSource") DataSource writeDataSource, ProfitLeaderboard leaderboard,
+      @Value("${order.reconciliation.parallelism}") int parallelism,
+      @Value("${order.reconciliation.chunk-size}") long chunkSize,
+      @Value("${order.reconciliation.fetch-size}") int fetchSize,
+      @Value("${order.reconciliation.max-reported-discrepancies}") int maxReported) {
+    this.readJdbcTemplate = new JdbcTemplate(readDataSource);
+    this.readJdbcTemplate.setFetchSize(fetchSize);
+    this.writeJdbcTemplate = new JdbcTemplate(writeDataSource);
+    this.writeJdbcTemplate.setFetchSize(fetchSize);
+    this.leaderboard = leaderboard;
+    this.chunkSize = chunkSize;
+    this.maxReported = maxReported;
+    this.pool = new ForkJoinPool(parallelism, forkJoinPool -> {
+      var thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+      thread.setName("profit-reconciliation-" + thread.getPoolIndex());
+      return thread;
+    }, null, false);
+  }
+
+  public ReconciliationReportDTO start(boolean repair) {
+    var run = new ReconciliationRun(repair, maxReported);
+    var previous = current.get();
+    if (previous != null && previous.isRunning() || !current.compareAndSet(previous, run)) {
+      log.error("Profit reconciliation is already running.");
+      throw new ReconciliationInProgressException("Profit reconciliation is already running.");
+    }
+    log.info("Starting profit reconciliation{}.", repair ? " with repair" : "");
+    pool.execute(() -> execute(run));
+    return run.toReport();
+  }
+
+  public ReconciliationReportDTO status() {
+    var run = current.get();
+    return run == null ? new ReconciliationReportDTO("IDLE", false, null, null, 0, 0, 0, 0, 0,
+        0, 0, List.of(), null) : run.toReport();
+  }
+
+  @Order(Ordered.HIGHEST_PRECEDENCE)
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onOrderCommitted(OrderCommittedEvent event) {
+    var run = current.get();
+    if (run != null && run.isRunning()) {
+      run.onOrderCommitted(event.getOrder());
+    }
+  }
+
+  private void execute(ReconciliationRun run) {
+    var startNanos = System.nanoTime();
+    var jdbcTemplate = run.isRepair() ? writeJdbcTemplate : readJdbcTemplate;
+    try {
+      var archives = countArchives(jdbcTemplate);
+      var bounds = jdbcTemplate.queryForObject(
+          "select coalesce(min(id), 1), coalesce(max(id), 0) from orders",
+          (rs, rowNum) -> new long[] {rs.getLong(1), rs.getLong(2)});
+      var fromId = bounds[0];
+      var toId = bounds[1];
+      run.begin(toId, toId < fromId ? 0 : (toId - fromId) / chunkSize + 1);
+      var expected = toId < fromId ? new OrderTotals()
+          : new OrderTotalsTask(fromId, toId, chunkSize, (from, to) -> scan(jdbcTemplate, run, from, to))
+              .invoke();
+      addArchivedTotals(jdbcTemplate, expected);
+      if (countArchives(jdbcTemplate) != archives) {
+        throw new IllegalStateException("Orders were archived during the reconciliation.");
+      }
+
+      var clientIds = new LongLongHashMap();
+      expected.sales.forEach((clientId, ignored) -> clientIds.addTo(clientId, 0));
+      expected.purchases.forEach((clientId, ignored) -> clientIds.addTo(clientId, 0));
+      run.setClients(clientIds.size());
+
+      compareLeaderboard(run, expected, clientIds);
+      compareRollups(jdbcTemplate, run, expected, clientIds);
+      run.complete();
+      var report = run.toReport();
+      log.info("Profit reconciliation of {} orders finished in {} ms with {} discrepancies.",
+          report.getOrdersScanned(), (System.nanoTime() - startNanos) / 1_000_000,
+          report.getDiscrepancyCount());
+    } catch (RuntimeException e) {
+      run.fail(e);
+      log.error("Profit reconciliation failed.", e);
+    }
+  }
+
+  private OrderTotals scan(JdbcTemplate jdbcTemplate, ReconciliationRun run, long fromId,
+      long toId) {
+    var totals = new OrderTotals();
+    var rows = new long[1];
+    jdbcTemplate.query("select supplier_id, consumer_id, price from orders where id between ? and ?",
+        rs -> {
+          totals.add(rs.getLong(1), rs.getLong(2), Money.toMinor(rs.getBigDecimal(3)));
+          rows[0]++;
+        }, fromId, toId);
+    run.onChunkScanned(rows[0]);
+    return totals;
+  }
+
+  private static long countArchives(JdbcTemplate jdbcTemplate) {
+    return jdbcTemplate.queryForObject("select count(*) from order_archives", Long.class);
+  }
+
+  private static void addArchivedTotals(JdbcTemplate jdbcTemplate, OrderTotals expected) {
+    jdbcTemplate.query("select client_id, sales, purchases from archived_client_totals", rs -> {
+      expected.sales.addTo(rs.getLong(1), Money.toMinor(rs.getBigDecimal(2)));
+      expected.purchases.addTo(rs.getLong(1), Money.toMinor(rs.getBigDecimal(3)));
+    });
+  }
+
+  private void compareLeaderboard(ReconciliationRun run, OrderTotals expected,
+      LongLongHashMap clientIds) {
+    var actual = leaderboard.snapshot();
+    actual.forEach((clientId, ignored) -> clientIds.addTo(clientId, 0));
+    clientIds.forEach((clientId, ignored) -> {
+      if (run.isTouched(clientId)) {
+        return;
+      }
+      var expectedProfit = expected.sales.get(clientId) - expected.purchases.get(clientId);
+      var actualProfit = actual.get(clientId);
+      if (expectedProfit != actualProfit) {
+        var repaired = run.isRepair()
+            && leaderboard.correct(clientId, actualProfit, expectedProfit);
+        run.report(LEADERBOARD, clientId, expectedProfit, actualProfit, repaired);
+      }
+    });
+  }
+
+  private void compareRollups(JdbcTemplate jdbcTemplate, ReconciliationRun run,
+      OrderTotals expected, LongLongHashMap clientIds) {
+    var actual = new OrderTotals();
+    jdbcTemplate.query("""
+        select client_id, sum(sales_minor), sum(purchases_minor)
+        from profit_rollups where granularity = 'DAY' group by client_id
+        """, rs -> {
+      actual.sales.addTo(rs.getLong(1), rs.getLong(2));
+      actual.purchases.addTo(rs.getLong(1), rs.getLong(3));
+      clientIds.addTo(rs.getLong(1), 0);
+    });
+    clientIds.forEach((clientId, ignored) -> {
+      if (run.isTouched(clientId)) {
+        return;
+      }
+      var expectedSales = expected.sales.get(clientId);
+      var expectedPurchases = expected.purchases.get(clientId);
+      var actualSales = actual.sales.get(clientId);
+      var actualPurchases = actual.purchases.get(clientId);
+      if (expectedSales != actualSales || expectedPurchases != actualPurchases) {
+        run.report(ROLLUPS, clientId, expectedSales - expectedPurchases,
+            actualSales - actualPurchases, false);
+      }
+    });
+  }
+
+  @Override
+  public void destroy() {
+    pool.shutdownNow();
+  }
+}
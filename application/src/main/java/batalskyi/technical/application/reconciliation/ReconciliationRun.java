@@ -0,0 +1,106 @@
+package batalskyi.technical.application.reconciliation;
+
+import batalskyi.technical.application.dto.OrderResponseDTO;
+import batalskyi.technical.application.dto.ProfitDiscrepancyDTO;
+import batalskyi.technical.application.dto.ReconciliationReportDTO;
+import batalskyi.technical.application.util.Money;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress and findings of one reconciliation. Clients that get an order committed while the run
+ * is active cannot be compared reliably, since the live state may or may not include that order
+ * relative to the scan, so they are skipped and counted instead.
+ */
+final class ReconciliationRun {
+
+  enum State { RUNNING, COMPLETED, FAILED }
+
+  private final boolean repair;
+  private final int maxReported;
+  private final LocalDateTime startedAt = LocalDateTime.now();
+  private final Set<Long> touchedClients = ConcurrentHashMap.newKeySet();
+  private final AtomicLong chunksDone = new AtomicLong();
+  private final AtomicLong ordersScanned = new AtomicLong();
+  private final AtomicLong discrepancyCount = new AtomicLong();
+  private final List<ProfitDiscrepancyDTO> discrepancies = new ArrayList<>();
+  private volatile State state = State.RUNNING;
+  private volatile long watermarkOrderId;
+  private volatile long chunks;
+  private volatile long clients;
+  private volatile LocalDateTime finishedAt;
+  private volatile String error;
+
+  ReconciliationRun(boolean repair, int maxReported) {
+    this.repair = repair;
+    this.maxReported = maxReported;
+  }
+
+  boolean isRunning() {
+    return state == State.RUNNING;
+  }
+
+  boolean isRepair() {
+    return repair;
+  }
+
+  void begin(long watermarkOrderId, long chunks) {
+    this.watermarkOrderId = watermarkOrderId;
+    this.chunks = chunks;
+  }
+
+  void onChunkScanned(long orders) {
+    ordersScanned.addAndGet(orders);
+    chunksDone.incrementAndGet();
+  }
+
+  void onOrderCommitted(OrderResponseDTO order) {
+    touchedClients.add(order.getSupplierId());
+    touchedClients.add(order.getConsumerId());
+  }
+
+  boolean isTouched(long clientId) {
+    return touchedClients.contains(clientId);
+  }
+
+  void setClients(long clients) {
+    this.clients = clients;
+  }
+
+  void report(String source, long clientId, long expectedMinor, long actualMinor,
+      boolean repaired) {
+    discrepancyCount.incrementAndGet();
+    synchronized (discrepancies) {
+      if (discrepancies.size() < maxReported) {
+        discrepancies.add(new ProfitDiscrepancyDTO(source, clientId,
+            Money.ofMinor(expectedMinor).toBigDecimal(), Money.ofMinor(actualMinor).toBigDecimal(),
+            repaired));
+      }
+    }
+  }
+
+  void complete() {
+    finishedAt = LocalDateTime.now();
+    state = State.COMPLETED;
+  }
+
+  void fail(Exception e) {
+    error = e.getMessage();
+    finishedAt = LocalDateTime.now();
+    state = State.FAILED;
+  }
+
+  ReconciliationReportDTO toReport() {
+    List<ProfitDiscrepancyDTO> reported;
+    synchronized (discrepancies) {
+      reported = List.copyOf(discrepancies);
+    }
+    return new ReconciliationReportDTO(state.name(), repair, startedAt, finishedAt,
+        watermarkOrderId, chunks, chunksDone.get(), ordersScanned.get(), clients,
+        touchedClients.size(), discrepancyCount.get(), reported, error);
+  }
+}
@@ -0,0 +1,22 @@
+package batalskyi.technical.application.repository;
+
+import batalskyi.technical.application.entity.ArchivedClientTotals;
+import java.math.BigDecimal;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ArchivedClientTotalsRepository extends
+    JpaRepository<ArchivedClientTotals, Long> {
+
+  @Modifying
+  @Query("""
+      update ArchivedClientTotals a
+      set a.sales = a.sales + :sales, a.purchases = a.purchases + :purchases,
+          a.orderCount = a.orderCount + :orderCount
+      where a.clientId = :clientId
+      """)
+  int addTotals(Long clientId, BigDecimal sales, BigDecimal purchases, long orderCount);
+}
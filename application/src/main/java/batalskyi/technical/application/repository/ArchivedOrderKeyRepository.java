@@ -0,0 +1,20 @@
+package batalskyi.technical.application.repository;
+
+import batalskyi.technical.application.entity.ArchivedOrderKey;
+import java.time.LocalDateTime;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ArchivedOrderKeyRepository extends JpaRepository<ArchivedOrderKey, Long> {
+
+  @Modifying
+  @Query("""
+      insert into ArchivedOrderKey (title, supplierId, consumerId)
+      select o.title, o.supplier.id, o.consumer.id from Order o
+      where o.createdAt >= :from and o.createdAt < :to
+      """)
+  int copyKeysCreatedBetween(LocalDateTime from, LocalDateTime to);
+}
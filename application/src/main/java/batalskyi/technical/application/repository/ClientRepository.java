@@ -1,15 +1,74 @@
 package batalskyi.technical.application.repository;
 
+import batalskyi.technical.application.dto.ClientDTO;
+import batalskyi.technical.application.dto.ClientProfitDTO;
+import batalskyi.technical.application.dto.ClientWithProfitDTO;
 import batalskyi.technical.application.entity.Client;
+import jakarta.persistence.QueryHint;
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface ClientRepository extends
     JpaRepository<Client, Long>, JpaSpecificationExecutor<Client> {
 
+  String CLIENT_DTO = """
+      select new batalskyi.technical.application.dto.ClientDTO(c.id, c.name, c.email,
+          c.address, c.active, c.deactivatedAt)
+      from Client c
+      """;
+
+  String PROFIT = """
+      coalesce(sum(case when o.supplier.id = c.id then o.price end), 0)
+          - coalesce(sum(case when o.consumer.id = c.id then o.price end), 0)
+          + coalesce(max(a.sales), 0) - coalesce(max(a.purchases), 0)
+      """;
+
+  String CLIENT_ORDERS = """
+      from Client c left join Order o on o.supplier.id = c.id or o.consumer.id = c.id
+          left join ArchivedClientTotals a on a.clientId = c.id
+      """;
+
   Optional<Client> findByEmail(String email);
 
+  @Query(CLIENT_DTO + "where c.id = :id")
+  Optional<ClientDTO> findDtoById(Long id);
+
+  @Query(CLIENT_DTO + "where c.id in :ids")
+  List<ClientDTO> findDtosByIds(Collection<Long> ids);
+
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+  @Query(CLIENT_DTO)
+  Stream<ClientDTO> streamAllDtos();
+
+  @Query("select new batalskyi.technical.application.dto.ClientProfitDTO(c.id, " + PROFIT + ") "
+      + CLIENT_ORDERS
+      + "where c.id in :ids group by c.id")
+  List<ClientProfitDTO> findProfitsByIds(Collection<Long> ids);
+
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+  @Query("select new batalskyi.technical.application.dto.ClientWithProfitDTO(c.id, c.name, "
+      + "c.email, c.address, c.active, c.deactivatedAt, " + PROFIT + ") "
+      + CLIENT_ORDERS
+      + "group by c.id, c.name, c.email, c.address, c.active, c.deactivatedAt "
+      + "having " + PROFIT + " between :min and :max")
+  Stream<ClientWithProfitDTO> streamWithProfitBetween(BigDecimal min, BigDecimal max);
+
+  @Query("select coalesce(max(c.id), 0) from Client c")
+  long findMaxId();
+
+  @Query("select c.id as clientId, c.active as active, " + PROFIT + " as profit "
+      + CLIENT_ORDERS
+      + "where c.id between :minId and :maxId group by c.id, c.active "
+      + "having count(o) > 0 or count(a) > 0")
+  List<ClientStanding> findStandingsBetweenIds(Long minId, Long maxId);
 }
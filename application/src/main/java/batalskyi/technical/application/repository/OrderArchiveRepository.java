@@ -0,0 +1,21 @@
+package batalskyi.technical.application.repository;
+
+import batalskyi.technical.application.entity.OrderArchive;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface OrderArchiveRepository extends JpaRepository<OrderArchive, Long> {
+
+  List<OrderArchive> findAllByOrderByMonthStart();
+
+  List<OrderArchive> findAllByClientSectionsIsNullOrderByMonthStart();
+
+  Optional<OrderArchive> findTopByOrderByMonthStartDesc();
+
+  @Query("select coalesce(sum(a.orderCount), 0) from OrderArchive a")
+  long sumOrderCount();
+}
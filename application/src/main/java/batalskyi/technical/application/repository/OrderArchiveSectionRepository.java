@@ -0,0 +1,18 @@
+package batalskyi.technical.application.repository;
+
+import batalskyi.technical.application.entity.OrderArchiveSection;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface OrderArchiveSectionRepository extends JpaRepository<OrderArchiveSection, Long> {
+
+  @Query("""
+      select s from OrderArchiveSection s join fetch s.archive a
+      where s.clientId = :clientId
+      order by a.monthStart, s.sales desc
+      """)
+  List<OrderArchiveSection> findByClientId(Long clientId);
+}
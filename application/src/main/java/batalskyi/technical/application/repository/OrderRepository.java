@@ -1,16 +1,90 @@
 package batalskyi.technical.application.repository;
 
+import batalskyi.technical.application.dto.OrderResponseDTO;
 import batalskyi.technical.application.entity.Order;
+import jakarta.persistence.QueryHint;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
 
-  List<Order> findBySupplierId(Long supplierId);
+  String ORDER_RESPONSE_DTO = """
+      select new batalskyi.technical.application.dto.OrderResponseDTO(o.id, o.title,
+          o.supplier.id, o.consumer.id, o.price, o.processingStartTime, o.processingEndTime,
+          o.createdAt)
+      from Order o
+      """;
 
-  List<Order> findByConsumerId(Long consumerId);
+  @Query(ORDER_RESPONSE_DTO + "where o.supplier.id = :supplierId")
+  List<OrderResponseDTO> findDtosBySupplierId(Long supplierId);
 
-  boolean existsByTitleAndSupplierIdAndConsumerId(String title, Long supplierId, Long consumerId);
+  @Query(ORDER_RESPONSE_DTO + "where o.consumer.id = :consumerId")
+  List<OrderResponseDTO> findDtosByConsumerId(Long consumerId);
+
+  @Query(value = """
+      select exists(select 1 from orders where title = :title and supplier_id = :supplierId
+              and consumer_id = :consumerId)
+          or exists(select 1 from archived_order_keys where title = :title
+              and supplier_id = :supplierId and consumer_id = :consumerId)
+      """, nativeQuery = true)
+  boolean existsByBusinessKey(String title, Long supplierId, Long consumerId);
+
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+  @Query(ORDER_RESPONSE_DTO)
+  Stream<OrderResponseDTO> streamAllDtos();
+
+  /**
+   * Totals of a client's orders, archived ones included.
+   */
+  @Query("""
+      select coalesce(sum(case when o.supplier.id = :clientId then o.price end), 0)
+              + coalesce((select a.sales from ArchivedClientTotals a
+                  where a.clientId = :clientId), 0) as sales,
+          coalesce(sum(case when o.consumer.id = :clientId then o.price end), 0)
+              + coalesce((select a.purchases from ArchivedClientTotals a
+                  where a.clientId = :clientId), 0) as purchases,
+          count(o) + coalesce((select a.orderCount from ArchivedClientTotals a
+              where a.clientId = :clientId), 0) as orderCount
+      from Order o
+      where o.supplier.id = :clientId or o.consumer.id = :clientId
+      """)
+  ProfitTotals sumProfitTotals(Long clientId);
+
+  @Query("""
+      select coalesce(sum(case when o.supplier.id = :clientId then o.price end), 0) as sales,
+          coalesce(sum(case when o.consumer.id = :clientId then o.price end), 0) as purchases,
+          count(o) as orderCount
+      from Order o
+      where (o.supplier.id = :clientId or o.consumer.id = :clientId)
+          and o.createdAt >= :from and o.createdAt < :to
+      """)
+  ProfitTotals sumProfitTotalsBetween(Long clientId, LocalDateTime from, LocalDateTime to);
+
+  @Query("select min(o.createdAt) from Order o")
+  Optional<LocalDateTime> findOldestCreatedAt();
+
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+  @Query(ORDER_RESPONSE_DTO + "where o.createdAt >= :from and o.createdAt < :to "
+      + "order by o.supplier.id, o.id")
+  Stream<OrderResponseDTO> streamDtosCreatedBetweenBySupplier(LocalDateTime from,
+      LocalDateTime to);
+
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+  @Query(ORDER_RESPONSE_DTO + "where o.createdAt >= :from and o.createdAt < :to "
+      + "order by o.consumer.id, o.id")
+  Stream<OrderResponseDTO> streamDtosCreatedBetweenByConsumer(LocalDateTime from,
+      LocalDateTime to);
+
+  @Modifying
+  @Query("delete from Order o where o.createdAt >= :from and o.createdAt < :to")
+  int deleteCreatedBetween(LocalDateTime from, LocalDateTime to);
 }
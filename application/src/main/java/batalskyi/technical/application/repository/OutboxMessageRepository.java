@@ -0,0 +1,13 @@
+package batalskyi.technical.application.repository;
+
+import batalskyi.technical.application.entity.OutboxMessage;
+import java.util.List;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface OutboxMessageRepository extends JpaRepository<OutboxMessage, Long> {
+
+  List<OutboxMessage> findByOrderById(Limit limit);
+}
@@ -0,0 +1,12 @@
+package batalskyi.technical.application.repository;
+
+import batalskyi.technical.application.entity.PendingOrder;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface PendingOrderRepository extends JpaRepository<PendingOrder, Long> {
+
+  List<PendingOrder> findAllByOrderById();
+}
@@ -0,0 +1,43 @@
+package batalskyi.technical.application.repository;
+
+import batalskyi.technical.application.entity.ProfitRollup;
+import batalskyi.technical.application.entity.RollupGranularity;
+import java.time.LocalDateTime;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ProfitRollupRepository extends JpaRepository<ProfitRollup, Long> {
+
+  String ROLLUP_TOTALS = """
+      select coalesce(sum(r.salesMinor), 0) as salesMinor,
+          coalesce(sum(r.purchasesMinor), 0) as purchasesMinor,
+          coalesce(sum(r.orderCount), 0) as orderCount
+      from ProfitRollup r
+      """;
+
+  @Query(ROLLUP_TOTALS + """
+      where r.clientId = :clientId and r.granularity = :granularity
+          and r.bucketStart >= :from and r.bucketStart < :to
+      """)
+  RollupTotals sumBuckets(Long clientId, RollupGranularity granularity, LocalDateTime from,
+      LocalDateTime to);
+
+  @Query(ROLLUP_TOTALS + """
+      where r.clientId = :clientId
+          and ((r.granularity = batalskyi.technical.application.entity.RollupGranularity.DAY
+              and r.bucketStart < :day)
+          or (r.granularity = batalskyi.technical.application.entity.RollupGranularity.HOUR
+              and r.bucketStart >= :day and r.bucketStart < :hour))
+      """)
+  RollupTotals sumBucketsBefore(Long clientId, LocalDateTime day, LocalDateTime hour);
+
+  @Modifying
+  @Query("""
+      delete from ProfitRollup r
+      where r.granularity = :granularity and r.bucketStart < :before
+      """)
+  int deleteBucketsBefore(RollupGranularity granularity, LocalDateTime before);
+}
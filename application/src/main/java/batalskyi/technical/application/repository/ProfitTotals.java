@@ -0,0 +1,12 @@
+package batalskyi.technical.application.repository;
+
+import java.math.BigDecimal;
+
+public interface ProfitTotals {
+
+  BigDecimal getSales();
+
+  BigDecimal getPurchases();
+
+  long getOrderCount();
+}
@@ -0,0 +1,10 @@
+package batalskyi.technical.application.repository;
+
+public interface RollupTotals {
+
+  long getSalesMinor();
+
+  long getPurchasesMinor();
+
+  long getOrderCount();
+}
@@ -0,0 +1,311 @@
+package batalskyi.technical.application.service;
+
+import batalskyi.technical.application.dto.ClientCreateOrUpdateDTO;
+import batalskyi.technical.application.dto.ClientImportResultDTO;
+import batalskyi.technical.application.exception.AttributeMismatchException;
+import batalskyi.technical.application.streaming.RowSource;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validator;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import javax.sql.DataSource;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Creates clients from a CSV or NDJSON stream. Rows are taken in batches: a batch is validated,
+ * checked for emails repeated within it and for emails already taken with a single query, and
+ * the remaining rows are inserted with one JDBC batch. A result is reported for every row. If a
+ * concurrent request takes one of the emails between the check and the insert, the batch is
+ * retried row by row so only that row fails.
+ */
+@Log4j2
+@Service
+public class ClientImportService {
+
+  public static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+
+  private static final String CREATED = "CREATED";
+  private static final String DUPLICATE_EMAIL = "DUPLICATE_EMAIL";
+  private static final String INVALID = "INVALID";
+  private static final String INSERT = """
+      insert into clients (name, email, address, active, deactivated_at)
+      values (?, ?, ?, ?, ?)
+      """;
+
+  private final JdbcTemplate jdbcTemplate;
+  private final NamedParameterJdbcTemplate namedJdbcTemplate;
+  private final TransactionTemplate importTransaction;
+  private final ObjectMapper objectMapper;
+  private final Validator validator;
+  private final int batchSize;
+
+  public ClientImportService(DataSource dataSource,
+      PlatformTransactionManager transactionManager, ObjectMapper objectMapper,
+      Validator validator, @Value("${clients.import.batch-size}") int batchSize) {
+    this.jdbcTemplate = new JdbcTemplate(dataSource);
+    this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    this.importTransaction = new TransactionTemplate(transactionManager);
+    this.objectMapper = objectMapper;
+    this.validator = validator;
+    this.batchSize = batchSize;
+  }
+
+  /**
+   * Reads and checks the CSV header before returning, so a bad header fails the request before
+   * any result is streamed; the rows are read and imported while the results are streamed.
+   */
+  public RowSource<ClientImportResultDTO> importClients(InputStream input, MediaType format) {
+    var reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+    var startNanos = System.nanoTime();
+    var headerLine = 0L;
+    String[] header = null;
+    if (TEXT_CSV.equalsTypeAndSubtype(format)) {
+      try {
+        String line;
+        do {
+          line = reader.readLine();
+          headerLine++;
+        } while (line != null && line.isBlank());
+        header = parseCsvLine(line == null ? "" : line).toArray(String[]::new);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+      checkCsvHeader(header);
+    }
+    var csvHeader = header;
+    var firstLine = headerLine;
+    return sink -> {
+      var created = 0L;
+      var lineNumber = firstLine;
+      var batch = new ArrayList<Row>(batchSize);
+      try (reader) {
+        String line;
+        while ((line = reader.readLine()) != null) {
+          lineNumber++;
+          if (line.isBlank()) {
+            continue;
+          }
+          batch.add(csvHeader != null ? csvRow(lineNumber, csvHeader, line)
+              : jsonRow(lineNumber, line));
+          if (batch.size() == batchSize) {
+            created += importBatch(batch, sink);
+            batch.clear();
+          }
+        }
+        created += importBatch(batch, sink);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+      log.info("Imported {} clients from {} lines in {} ms.", created, lineNumber,
+          (System.nanoTime() - startNanos) / 1_000_000);
+    };
+  }
+
+  private Row jsonRow(long lineNumber, String line) {
+    try {
+      return new Row(lineNumber, objectMapper.readValue(line, ClientCreateOrUpdateDTO.class),
+          null);
+    } catch (JsonProcessingException e) {
+      return new Row(lineNumber, null, "Line is not a valid client: " + e.getOriginalMessage());
+    }
+  }
+
+  private Row csvRow(long lineNumber, String[] header, String line) {
+    var values = parseCsvLine(line);
+    if (values.size() != header.length) {
+      return new Row(lineNumber, null,
+          "Expected " + header.length + " values but found " + values.size() + ".");
+    }
+    var client = new ClientCreateOrUpdateDTO();
+    for (var i = 0; i < header.length; i++) {
+      var value = values.get(i);
+      switch (header[i]) {
+        case "name" -> client.setName(value);
+        case "email" -> client.setEmail(value);
+        case "address" -> client.setAddress(value);
+        case "active" -> client.setActive(Boolean.parseBoolean(value));
+        default -> {
+        }
+      }
+    }
+    return new Row(lineNumber, client, null);
+  }
+
+  private static void checkCsvHeader(String[] header) {
+    var columns = List.of(header);
+    if (!columns.contains("name") || !columns.contains("email")
+        || !columns.contains("address")) {
+      log.error("Client import header {} is not supported.", columns);
+      throw new AttributeMismatchException(
+          "CSV header should contain the columns name, email and address.");
+    }
+  }
+
+  private static List<String> parseCsvLine(String line) {
+    var values = new ArrayList<String>();
+    var value = new StringBuilder();
+    var quoted = false;
+    for (var i = 0; i < line.length(); i++) {
+      var c = line.charAt(i);
+      if (quoted) {
+        if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+          value.append('"');
+          i++;
+        } else if (c == '"') {
+          quoted = false;
+        } else {
+          value.append(c);
+        }
+      } else if (c == '"') {
+        quoted = true;
+      } else if (c == ',') {
+        values.add(value.toString());
+        value.setLength(0);
+      } else {
+        value.append(c);
+      }
+    }
+    values.add(value.toString());
+    return values;
+  }
+
+  private long importBatch(List<Row> batch, Consumer<? super ClientImportResultDTO> sink) {
+    if (batch.isEmpty()) {
+      return 0;
+    }
+    var results = new ClientImportResultDTO[batch.size()];
+    var candidates = new ArrayList<Integer>(batch.size());
+    var emails = new HashSet<String>();
+    for (var i = 0; i < batch.size(); i++) {
+      var row = batch.get(i);
+      var error = row.error() != null ? row.error() : validate(row.client());
+      if (error != null) {
+        results[i] = new ClientImportResultDTO(row.line(), INVALID, null, error);
+      } else if (!emails.add(row.client().getEmail())) {
+        results[i] = new ClientImportResultDTO(row.line(), DUPLICATE_EMAIL, null,
+            "Email appears earlier in the import: " + row.client().getEmail());
+      } else {
+        candidates.add(i);
+      }
+    }
+
+    var inserts = new ArrayList<Integer>(candidates.size());
+    if (!emails.isEmpty()) {
+      var taken = new HashSet<>(namedJdbcTemplate.queryForList(
+          "select email from clients where email in (:emails)", Map.of("emails", emails),
+          String.class));
+      for (var i : candidates) {
+        var row = batch.get(i);
+        if (taken.contains(row.client().getEmail())) {
+          results[i] = new ClientImportResultDTO(row.line(), DUPLICATE_EMAIL, null,
+              "Email already exists: " + row.client().getEmail());
+        } else {
+          inserts.add(i);
+        }
+      }
+    }
+
+    try {
+      var ids = importTransaction.execute(status -> insert(inserts.stream()
+          .map(i -> batch.get(i).client()).toList()));
+      for (var j = 0; j < inserts.size(); j++) {
+        var index = inserts.get(j);
+        results[index] = new ClientImportResultDTO(batch.get(index).line(), CREATED, ids.get(j),
+            null);
+      }
+    } catch (DataIntegrityViolationException e) {
+      log.warn("Retrying client import of lines {} to {} one by one: {}", batch.getFirst().line(),
+          batch.getLast().line(), e.getMessage());
+      for (var i : inserts) {
+        results[i] = insertOne(batch.get(i));
+      }
+    }
+
+    var created = 0L;
+    for (var result : results) {
+      if (result.getStatus().equals(CREATED)) {
+        created++;
+      }
+      sink.accept(result);
+    }
+    return created;
+  }
+
+  private String validate(ClientCreateOrUpdateDTO client) {
+    if (client.getEmail() == null || client.getEmail().isBlank()) {
+      return "email: must not be blank";
+    }
+    var violations = validator.validate(client);
+    return violations.isEmpty() ? null : violations.stream()
+        .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+        .sorted()
+        .collect(Collectors.joining(", "));
+  }
+
+  private List<Long> insert(List<ClientCreateOrUpdateDTO> clients) {
+    if (clients.isEmpty()) {
+      return List.of();
+    }
+    var keyHolder = new GeneratedKeyHolder();
+    jdbcTemplate.batchUpdate(
+        connection -> connection.prepareStatement(INSERT, Statement.RETURN_GENERATED_KEYS),
+        new BatchPreparedStatementSetter() {
+          @Override
+          public void setValues(PreparedStatement statement, int i) throws SQLException {
+            var client = clients.get(i);
+            statement.setString(1, client.getName());
+            statement.setString(2, client.getEmail());
+            statement.setString(3, client.getAddress());
+            statement.setBoolean(4, client.isActive());
+            statement.setNull(5, Types.TIMESTAMP);
+          }
+
+          @Override
+          public int getBatchSize() {
+            return clients.size();
+          }
+        }, keyHolder);
+    return keyHolder.getKeyList().stream()
+        .map(keys -> ((Number) keys.values().iterator().next()).longValue())
+        .toList();
+  }
+
+  private ClientImportResultDTO insertOne(Row row) {
+    try {
+      var ids = importTransaction.execute(status -> insert(List.of(row.client())));
+      return new ClientImportResultDTO(row.line(), CREATED, ids.getFirst(), null);
+    } catch (DataIntegrityViolationException e) {
+      return new ClientImportResultDTO(row.line(), DUPLICATE_EMAIL, null,
+          "Email already exists: " + row.client().getEmail());
+    }
+  }
+
+  private record Row(long line, ClientCreateOrUpdateDTO client, String error) {
+
+  }
+}
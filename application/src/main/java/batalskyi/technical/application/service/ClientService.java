@@ -2,23 +2,44 @@ package batalskyi.technical.application.service;
 
 import batalskyi.technical.application.dto.ClientCreateOrUpdateDTO;
 import batalskyi.technical.application.dto.ClientDTO;
+import batalskyi.technical.application.dto.ClientProfitDTO;
 import batalskyi.technical.application.dto.ClientWithProfitDTO;
 import batalskyi.technical.application.entity.Client;
-import batalskyi.technical.application.entity.Order;
+import batalskyi.technical.application.events.ClientDeactivatedEvent;
+import batalskyi.technical.application.events.ClientReactivatedEvent;
+import batalskyi.technical.application.events.OrderCommittedEvent;
 import batalskyi.technical.application.exception.AttributeMismatchException;
 import batalskyi.technical.application.exception.ClientNotFoundException;
 import batalskyi.technical.application.exception.DuplicateEmailException;
+import batalskyi.technical.application.jfr.ClientProfitEvent;
+import batalskyi.technical.application.jfr.ProfitRangeSearchEvent;
 import batalskyi.technical.application.mapper.ClientMapper;
 import batalskyi.technical.application.repository.ClientRepository;
+import batalskyi.technical.application.repository.OrderRepository;
+import batalskyi.technical.application.streaming.RowSource;
+import batalskyi.technical.application.util.Money;
+import batalskyi.technical.application.util.SingleFlight;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CompoundSelection;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Root;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Set;
 import lombok.extern.log4j.Log4j2;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.context.annotation.Lazy;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.Ordered;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Log4j2
 @Service
@@ -26,23 +47,44 @@ public class ClientService {
 
   private static final Set<String> FIELDS = Set.of("name", "email", "address");
 
-  @Value("${consumer.limit.value}")
-  private BigDecimal limit;
-
+  private final Money limit;
+  private final int maxBatchIds;
   private final ClientRepository clientRepository;
-  private final OrderService orderService;
+  private final OrderRepository orderRepository;
   private final ClientMapper clientMapper;
+  private final EntityManager entityManager;
+  private final TransactionTemplate readOnlyTransaction;
+  private final ApplicationEventPublisher eventPublisher;
+  private final SingleFlight<Long, Money> profitCalls = new SingleFlight<>();
 
-  public ClientService(ClientRepository clientRepository, @Lazy OrderService orderService,
-      ClientMapper clientMapper) {
+  public ClientService(ClientRepository clientRepository, OrderRepository orderRepository,
+      ClientMapper clientMapper, EntityManager entityManager,
+      PlatformTransactionManager transactionManager, ApplicationEventPublisher eventPublisher,
+      MeterRegistry meterRegistry,
+      @Value("${consumer.limit.value}") BigDecimal limit,
+      @Value("${clients.batch.max-ids}") int maxBatchIds) {
     this.clientRepository = clientRepository;
-    this.orderService = orderService;
+    this.orderRepository = orderRepository;
     this.clientMapper = clientMapper;
+    this.entityManager = entityManager;
+    this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+    this.readOnlyTransaction.setReadOnly(true);
+    this.eventPublisher = eventPublisher;
+    this.limit = Money.of(limit);
+    this.maxBatchIds = maxBatchIds;
+
+    FunctionCounter.builder("client.profit.calculations", profitCalls,
+        SingleFlight::executedCalls).register(meterRegistry);
+    FunctionCounter.builder("client.profit.coalesced", profitCalls,
+        SingleFlight::sharedCalls).register(meterRegistry);
   }
 
-  @Transactional(readOnly = true)
-  public List<ClientDTO> getAllClients() {
-    return clientRepository.findAll().stream().map(clientMapper::toClientDTO).toList();
+  public RowSource<ClientDTO> streamAllClients() {
+    return sink -> readOnlyTransaction.executeWithoutResult(status -> {
+      try (var clients = clientRepository.streamAllDtos()) {
+        clients.forEach(sink);
+      }
+    });
   }
 
   public ClientDTO createClient(ClientCreateOrUpdateDTO clientDTO) {
@@ -54,6 +96,7 @@ public class ClientService {
     return clientMapper.toClientDTO(client);
   }
 
+  @Transactional
   public ClientDTO updateClient(Long id, String name, String email, String address,
       Boolean active) {
     if (name == null && email == null && address == null && active == null) {
@@ -63,16 +106,17 @@ public class ClientService {
 
     var client = getClientById(id);
     log.info("Updating client with id: {}.", id);
+    // checked before any change, so the query does not flush a half-updated client first
+    if (email != null && !email.equals(client.getEmail()) && isEmailDuplicated(email)) {
+      log.error("Email already exists: {}.", email);
+      throw new DuplicateEmailException("Email already exists: " + email);
+    }
 
     if (name != null) {
       log.info("New name value: {}.", name);
       client.setName(name);
     }
     if (email != null) {
-      if (isEmailDuplicated(email) && !email.equals(client.getEmail())) {
-        log.error("Email already exists: {}.", email);
-        throw new DuplicateEmailException("Email already exists: " + email);
-      }
       log.info("New email value: {}.", email);
       client.setEmail(email);
     }
@@ -80,6 +124,8 @@ public class ClientService {
       log.info("New address value: {}.", address);
       client.setAddress(address);
     }
+    var deactivated = Boolean.FALSE.equals(active) && client.isActive();
+    var reactivated = Boolean.TRUE.equals(active) && !client.isActive();
     if (active != null) {
       log.info("New active value: {}.", active);
       client.setActive(active);
@@ -88,6 +134,13 @@ public class ClientService {
 
     log.info("Update finished.");
     var saved = clientRepository.save(client);
+    if (deactivated) {
+      eventPublisher.publishEvent(
+          new ClientDeactivatedEvent(saved.getId(), saved.getDeactivatedAt()));
+    }
+    if (reactivated) {
+      eventPublisher.publishEvent(new ClientReactivatedEvent(saved.getId(), LocalDateTime.now()));
+    }
     return clientMapper.toClientDTO(saved);
   }
 
@@ -95,7 +148,7 @@ public class ClientService {
     return clientRepository.findByEmail(email).isPresent();
   }
 
-  public List<ClientDTO> searchClients(String field, String text) {
+  public RowSource<ClientDTO> streamClients(String field, String text) {
     if (!FIELDS.contains(field.toLowerCase())) {
       log.error("Search client with field '{}' is not supported.", field);
       throw new AttributeMismatchException(
@@ -107,15 +160,29 @@ public class ClientService {
           "Search client with text length less than 3 is not supported.");
     }
     log.info("Search client with '{}' that contains '{}'", field, text);
-    return clientRepository.findAll((root, cq, cb) ->
-            cb.like(cb.lower(root.get(field)), "%" + text.toLowerCase() + "%"))
-        .stream()
-        .map(clientMapper::toClientDTO)
-        .toList();
+    return sink -> readOnlyTransaction.executeWithoutResult(status -> {
+      var cb = entityManager.getCriteriaBuilder();
+      var query = cb.createQuery(ClientDTO.class);
+      var root = query.from(Client.class);
+      query.select(constructClientDTO(cb, root))
+          .where(cb.like(cb.lower(root.get(field.toLowerCase())),
+              "%" + text.toLowerCase() + "%"));
+      try (var clients = entityManager.createQuery(query)
+          .setHint(HibernateHints.HINT_FETCH_SIZE, 500)
+          .getResultStream()) {
+        clients.forEach(sink);
+      }
+    });
+  }
+
+  private static CompoundSelection<ClientDTO> constructClientDTO(CriteriaBuilder cb,
+      Root<Client> root) {
+    return cb.construct(ClientDTO.class, root.get("id"), root.get("name"), root.get("email"),
+        root.get("address"), root.get("active"), root.get("deactivatedAt"));
   }
 
   public Client getClientById(Long id) {
-    log.info("Searching client with id: {}.", id);
+    log.debug("Searching client with id: {}.", id);
     var client = clientRepository.findById(id);
     if (client.isEmpty()) {
       log.error("Client with id {} not found.", id);
@@ -124,47 +191,102 @@ public class ClientService {
     return client.get();
   }
 
+  public ClientDTO getClientDtoById(Long id) {
+    log.debug("Searching client with id: {}.", id);
+    return clientRepository.findDtoById(id).orElseThrow(() -> {
+      log.error("Client with id {} not found.", id);
+      return new ClientNotFoundException("Client with id " + id + " not found.");
+    });
+  }
+
   public BigDecimal getProfitById(Long id) {
-    log.info("Calculating profit for client with id: {}.", id);
-    return calculateClientProfit(id);
+    log.debug("Calculating profit for client with id: {}.", id);
+    return calculateClientProfit(id).toBigDecimal();
+  }
+
+  public List<ClientDTO> getClientsByIds(List<Long> ids) {
+    var distinctIds = checkBatchIds(ids);
+    log.debug("Searching {} clients by id.", distinctIds.size());
+    return clientRepository.findDtosByIds(distinctIds);
   }
 
-  public BigDecimal calculateClientProfit(Long clientId) {
-    var salesProfit = orderService.getOrdersBySupplierId(clientId)
-        .stream()
-        .map(Order::getPrice)
-        .reduce(BigDecimal.ZERO, BigDecimal::add);
+  public List<ClientProfitDTO> getProfitsByIds(List<Long> ids) {
+    var distinctIds = checkBatchIds(ids);
+    log.debug("Calculating profit for {} clients.", distinctIds.size());
+    return clientRepository.findProfitsByIds(distinctIds).stream()
+        .map(profit -> new ClientProfitDTO(profit.getClientId(),
+            Money.of(profit.getProfit()).toBigDecimal()))
+        .toList();
+  }
 
-    var purchasesLoss = orderService.getOrdersByConsumerId(clientId)
-        .stream()
-        .map(Order::getPrice)
-        .reduce(BigDecimal.ZERO, BigDecimal::add);
+  private Set<Long> checkBatchIds(List<Long> ids) {
+    var distinctIds = Set.copyOf(ids);
+    if (distinctIds.isEmpty() || distinctIds.size() > maxBatchIds) {
+      log.error("Batch of {} client ids is not supported.", distinctIds.size());
+      throw new AttributeMismatchException(
+          "Between 1 and " + maxBatchIds + " client ids should be provided.");
+    }
+    return distinctIds;
+  }
 
-    return salesProfit.subtract(purchasesLoss);
+  public Money calculateClientProfit(Long clientId) {
+    if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+      // the leader must already hold its connection, otherwise callers waiting on it inside
+      // their transactions can take the whole pool and the leader never gets one
+      return readOnlyTransaction.execute(status -> calculateClientProfit(clientId));
+    }
+    return profitCalls.execute(clientId, () -> queryClientProfit(clientId));
   }
 
-  public boolean wouldExceedProfitLimit(Long clientId, BigDecimal amountToSubtract) {
+  @org.springframework.core.annotation.Order(Ordered.HIGHEST_PRECEDENCE)
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onOrderCommitted(OrderCommittedEvent event) {
+    profitCalls.forget(event.getOrder().getSupplierId());
+    profitCalls.forget(event.getOrder().getConsumerId());
+  }
+
+  private Money queryClientProfit(Long clientId) {
+    var event = ClientProfitEvent.start(clientId);
+    var totals = orderRepository.sumProfitTotals(clientId);
+    var profit = Money.of(totals.getSales()).minus(Money.of(totals.getPurchases()));
+    event.finish(totals.getOrderCount(), profit);
+    return profit;
+  }
+
+  public boolean wouldExceedProfitLimit(Long clientId, Money amountToSubtract) {
     var currentProfit = calculateClientProfit(clientId);
-    var projectedProfit = currentProfit.subtract(amountToSubtract);
-    return projectedProfit.compareTo(limit) < 0;
+    var projectedProfit = currentProfit.minus(amountToSubtract);
+    return projectedProfit.isLessThan(limit);
   }
 
-  public List<ClientWithProfitDTO> searchClientsInProfitRange(BigDecimal min, BigDecimal max) {
+  public RowSource<ClientWithProfitDTO> streamClientsInProfitRange(BigDecimal min,
+      BigDecimal max) {
     if (max.compareTo(min) < 0) {
       log.error("Attribute 'max' should be greater than 'min'.");
       throw new AttributeMismatchException("Attribute 'max' should be greater than 'min'.");
     }
+    if (min.stripTrailingZeros().scale() > Money.SCALE
+        || max.stripTrailingZeros().scale() > Money.SCALE) {
+      // rounding would silently move the bounds, so a profit just outside the range could match
+      log.error("Profit range {} to {} has more than {} decimal places.", min, max, Money.SCALE);
+      throw new AttributeMismatchException(
+          "Attributes 'min' and 'max' must not have more than " + Money.SCALE
+              + " decimal places.");
+    }
     log.info("Collecting list of clients with profit range between {} and {}.", min, max);
-    return clientRepository.findAll()
-        .stream()
-        .map(client -> {
-          var profit = calculateClientProfit(client.getId());
-          return new ClientWithProfitDTO(client, profit);
-        })
-        .filter(clientWithProfit -> {
-          var profit = clientWithProfit.getProfit();
-          return profit.compareTo(min) >= 0 && profit.compareTo(max) <= 0;
-        })
-        .toList();
+    var minProfit = Money.of(min);
+    var maxProfit = Money.of(max);
+    return sink -> readOnlyTransaction.executeWithoutResult(status -> {
+      var event = ProfitRangeSearchEvent.start(minProfit, maxProfit);
+      try (var clients = clientRepository.streamWithProfitBetween(minProfit.toBigDecimal(),
+          maxProfit.toBigDecimal())) {
+        clients.forEach(client -> {
+          event.onMatch();
+          sink.accept(client);
+        });
+      } finally {
+        event.finish();
+      }
+    });
   }
 }
@@ -1,74 +1,279 @@
 package batalskyi.technical.application.service;
 
+import batalskyi.technical.application.archive.OrderArchiver;
 import batalskyi.technical.application.dto.OrderDTO;
 import batalskyi.technical.application.dto.OrderResponseDTO;
 import batalskyi.technical.application.entity.Client;
 import batalskyi.technical.application.entity.Order;
+import batalskyi.technical.application.entity.PendingOrder;
+import batalskyi.technical.application.events.OrderCommittedEvent;
+import batalskyi.technical.application.events.OrderRejectedEvent;
 import batalskyi.technical.application.exception.AttributeMismatchException;
 import batalskyi.technical.application.exception.ClientNotActiveException;
 import batalskyi.technical.application.exception.ClientProfitLimitExceededException;
 import batalskyi.technical.application.exception.DuplicateOrderException;
 import batalskyi.technical.application.exception.InvalidPriceException;
+import batalskyi.technical.application.exception.OrderOverloadException;
+import batalskyi.technical.application.jfr.OrderStageEvent;
+import batalskyi.technical.application.jfr.OrderValidationEvent;
 import batalskyi.technical.application.mapper.OrderMapper;
+import batalskyi.technical.application.processing.OrderProcessor;
 import batalskyi.technical.application.repository.OrderRepository;
-import jakarta.persistence.EntityManager;
+import batalskyi.technical.application.repository.PendingOrderRepository;
+import batalskyi.technical.application.streaming.RowSource;
+import batalskyi.technical.application.util.Money;
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
-import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.hibernate.StaleObjectStateException;
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+/**
+ * Validates, processes and saves orders. An order that passed validation is recorded as a
+ * {@link PendingOrder} until it is saved or rejected. On shutdown new orders are refused and the
+ * ones in flight get {@code order.drain.timeout} to finish. A request still processing after that
+ * is answered with 503 and its pending order removed; a resumed order, and whatever is pending
+ * after a crash, is validated and processed again on the next start.
+ */
 @Log4j2
 @Service
 @RequiredArgsConstructor
-public class OrderService {
+public class OrderService implements SmartLifecycle {
+
+  /**
+   * Stops first: before the order processor ({@code PHASE - 1}) and the web server.
+   */
+  public static final int PHASE = SmartLifecycle.DEFAULT_PHASE;
 
   @Value("${consumer.limit.value}")
   private BigDecimal limit;
 
+  @Value("${order.drain.timeout}")
+  private Duration drainTimeout;
+
+  @Value("${order.drain.retry-after-seconds}")
+  private long drainRetryAfterSeconds;
+
   private final OrderRepository orderRepository;
   private final ClientService clientService;
   private final OrderMapper orderMapper;
-  private final EntityManager entityManager;
+  private final PlatformTransactionManager transactionManager;
+  private final TransactionTemplate transactionTemplate;
+  private final OrderProcessor orderProcessor;
+  private final ApplicationEventPublisher eventPublisher;
+  private final OrderArchiver orderArchiver;
+  private final PendingOrderRepository pendingOrderRepository;
+  private final ProfitRollupService profitRollupService;
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final Set<CompletableFuture<Void>> processing = ConcurrentHashMap.newKeySet();
+  private final Object drainLock = new Object();
+  private volatile boolean accepting;
+  private volatile OrderOverloadException shutdownRejection;
+
+  public CompletableFuture<OrderResponseDTO> createOrder(OrderDTO orderDTO) {
+    inFlight.incrementAndGet();
+    try {
+      if (!accepting) {
+        log.warn("Order service is draining, rejecting new order.");
+        throw new OrderOverloadException("Order service is shutting down, retry later.",
+            drainRetryAfterSeconds);
+      }
+      return submitOrder(orderDTO, null).whenComplete((response, e) -> leave());
+    } catch (RuntimeException e) {
+      leave();
+      throw e;
+    }
+  }
+
+  private void resumeOrder(PendingOrder pendingOrder) {
+    var orderDTO = new OrderDTO();
+    orderDTO.setTitle(pendingOrder.getTitle());
+    orderDTO.setSupplierId(pendingOrder.getSupplierId());
+    orderDTO.setConsumerId(pendingOrder.getConsumerId());
+    orderDTO.setPrice(pendingOrder.getPrice());
+    inFlight.incrementAndGet();
+    try {
+      submitOrder(orderDTO, pendingOrder.getId()).whenComplete((response, e) -> leave());
+    } catch (RuntimeException e) {
+      // already logged as the order summary
+      leave();
+    }
+  }
+
+  private void leave() {
+    if (inFlight.decrementAndGet() == 0 && !accepting) {
+      synchronized (drainLock) {
+        drainLock.notifyAll();
+      }
+    }
+  }
 
-  @Transactional
-  public OrderResponseDTO createOrder(OrderDTO orderDTO) {
-    var supplier = clientService.getClientById(orderDTO.getSupplierId());
-    var consumer = clientService.getClientById(orderDTO.getConsumerId());
-    validateOrder(orderDTO, supplier, consumer);
+  /**
+   * Validates the order and records it as pending, or re-validates an order that is already
+   * pending when {@code resumedOrderId} is set, then processes and saves it.
+   */
+  private CompletableFuture<OrderResponseDTO> submitOrder(OrderDTO orderDTO,
+      Long resumedOrderId) {
+    var startNanos = System.nanoTime();
+    var validationStage = OrderStageEvent.start("validation", orderDTO);
+    final Long pendingOrderId;
+    try {
+      pendingOrderId = transactionTemplate.execute(status -> {
+        var supplier = clientService.getClientById(orderDTO.getSupplierId());
+        var consumer = clientService.getClientById(orderDTO.getConsumerId());
+        validateOrder(orderDTO, supplier, consumer);
+        return resumedOrderId != null ? resumedOrderId : pendingOrderRepository.save(
+            new PendingOrder(orderDTO.getTitle(), orderDTO.getSupplierId(),
+                orderDTO.getConsumerId(), orderDTO.getPrice())).getId();
+      });
+      validationStage.finish(null);
+    } catch (RuntimeException e) {
+      validationStage.finish(e);
+      logOrderSummary(orderDTO, null, e.getClass().getSimpleName(), startNanos);
+      publishRejection(orderDTO, e);
+      if (resumedOrderId != null) {
+        discardPendingOrder(resumedOrderId);
+      }
+      throw e;
+    }
 
+    var processingStartTime = LocalDateTime.now();
+    log.debug("Processing order.");
+    var processingStage = OrderStageEvent.start("processing", orderDTO);
+    final CompletableFuture<Void> orderProcessing;
     try {
-      var orderPrice = orderDTO.getPrice();
-      var order = new Order();
-      order.setTitle(orderDTO.getTitle());
-      order.setPrice(orderPrice);
-      order.setSupplier(supplier);
-      order.setConsumer(consumer);
-      order.setProcessingStartTime(LocalDateTime.now());
-
-      log.info("Processing order.");
-      var delay = (new Random().nextInt(10) + 1) * 1000;
-      Thread.sleep(delay);
-      log.info(
-          "Initiating additional activity check on clients with ids {} and {}. Refreshing clients state.",
-          supplier.getId(), consumer.getId());
-      entityManager.refresh(supplier);
-      entityManager.refresh(consumer);
-      checkClientsActivity(supplier, consumer);
-      order.setProcessingEndTime(LocalDateTime.now());
-      log.info("Finished processing order.");
-      return orderMapper.toOrderResponseDto(orderRepository.save(order));
-    } catch (InterruptedException e) {
-      throw new RuntimeException(e);
+      orderProcessing = orderProcessor.process(orderDTO);
+    } catch (RejectedExecutionException e) {
+      processingStage.finish(e);
+      log.warn("Order processor is shut down, rejecting order.");
+      var overload = new OrderOverloadException("Order service is shutting down, retry later.",
+          drainRetryAfterSeconds);
+      logOrderSummary(orderDTO, null, overload.getClass().getSimpleName(), startNanos);
+      publishRejection(orderDTO, overload);
+      if (!staysPending(overload, resumedOrderId)) {
+        discardPendingOrder(pendingOrderId);
+      }
+      throw overload;
+    }
+    processing.add(orderProcessing);
+    var rejection = shutdownRejection;
+    if (rejection != null) {
+      orderProcessing.completeExceptionally(rejection);
+    }
+    return orderProcessing
+        .whenComplete((ignored, e) -> {
+          processing.remove(orderProcessing);
+          processingStage.finish(e);
+        })
+        .thenApply(ignored -> completeOrder(orderDTO, pendingOrderId, processingStartTime))
+        .whenComplete((response, e) -> {
+          if (e == null) {
+            logOrderSummary(orderDTO, response.getId(), "COMPLETED", startNanos);
+          } else {
+            var cause = e instanceof CompletionException && e.getCause() != null
+                ? e.getCause() : e;
+            logOrderSummary(orderDTO, null, cause.getClass().getSimpleName(), startNanos);
+            publishRejection(orderDTO, cause);
+            if (!staysPending(cause, resumedOrderId)) {
+              discardPendingOrder(pendingOrderId);
+            }
+          }
+        });
+  }
+
+  /**
+   * An order cut off by shutdown stays pending for the next start, unless a client is waiting for
+   * it: that client gets 503 and retries, so the order must not be processed again.
+   */
+  private static boolean staysPending(Throwable cause, Long resumedOrderId) {
+    return cause instanceof RejectedExecutionException
+        || cause instanceof OrderOverloadException && resumedOrderId != null;
+  }
+
+  private void discardPendingOrder(Long pendingOrderId) {
+    try {
+      transactionTemplate.executeWithoutResult(
+          status -> pendingOrderRepository.deleteById(pendingOrderId));
+    } catch (RuntimeException e) {
+      log.error("Rejected pending order {} could not be removed and will be retried on the "
+          + "next start: {}", pendingOrderId, e.getMessage());
+    }
+  }
+
+  private void publishRejection(OrderDTO orderDTO, Throwable cause) {
+    eventPublisher.publishEvent(new OrderRejectedEvent(orderDTO.getTitle(),
+        orderDTO.getSupplierId(), orderDTO.getConsumerId(), orderDTO.getPrice(),
+        cause.getMessage(), LocalDateTime.now()));
+  }
+
+  private void logOrderSummary(OrderDTO orderDTO, Long orderId, String outcome,
+      long startNanos) {
+    var durationMillis = (System.nanoTime() - startNanos) / 1_000_000;
+    log.info("order.summary outcome={} orderId={} supplierId={} consumerId={} price={} "
+            + "durationMs={}", outcome, orderId, orderDTO.getSupplierId(),
+        orderDTO.getConsumerId(), orderDTO.getPrice(), durationMillis);
+  }
+
+  private OrderResponseDTO completeOrder(OrderDTO orderDTO, Long pendingOrderId,
+      LocalDateTime processingStartTime) {
+    var completionStage = OrderStageEvent.start("completion", orderDTO);
+    try {
+      var response = saveOrder(orderDTO, pendingOrderId, processingStartTime);
+      completionStage.finish(null);
+      return response;
+    } catch (RuntimeException e) {
+      completionStage.finish(e);
+      throw e;
+    }
+  }
+
+  private OrderResponseDTO saveOrder(OrderDTO orderDTO, Long pendingOrderId,
+      LocalDateTime processingStartTime) {
+    try {
+      return transactionTemplate.execute(status -> {
+        log.debug(
+            "Initiating additional activity check on clients with ids {} and {}. Refreshing clients state.",
+            orderDTO.getSupplierId(), orderDTO.getConsumerId());
+        var supplier = clientService.getClientById(orderDTO.getSupplierId());
+        var consumer = clientService.getClientById(orderDTO.getConsumerId());
+        checkClientsActivity(supplier, consumer);
+
+        var order = new Order();
+        order.setTitle(orderDTO.getTitle());
+        order.setPrice(orderDTO.getPrice().setScale(Money.SCALE));
+        order.setSupplier(supplier);
+        order.setConsumer(consumer);
+        order.setProcessingStartTime(processingStartTime);
+        order.setProcessingEndTime(LocalDateTime.now());
+        log.debug("Finished processing order.");
+        var response = orderMapper.toOrderResponseDto(orderRepository.save(order));
+        profitRollupService.addOrder(response);
+        pendingOrderRepository.deleteById(pendingOrderId);
+        eventPublisher.publishEvent(new OrderCommittedEvent(response));
+        return response;
+      });
     } catch (DataIntegrityViolationException e) {
+      if (!isBusinessKeyViolation(e)) {
+        throw e;
+      }
       log.error("Order with this business key already exists");
       throw new DuplicateOrderException("Order with this business key already exists");
     } catch (StaleObjectStateException e) {
@@ -77,13 +282,40 @@ public class OrderService {
     }
   }
 
+  /**
+   * The business key is the only unique constraint an order insert can break; violations from
+   * the rollup or outbox statements of the same transaction are not duplicates.
+   */
+  private static boolean isBusinessKeyViolation(DataIntegrityViolationException e) {
+    return e.getCause() instanceof ConstraintViolationException violation
+        && violation.getKind() == ConstraintViolationException.ConstraintKind.UNIQUE
+        && violation.getSQL() != null
+        && violation.getSQL().startsWith("insert into orders ");
+  }
+
   private void validateOrder(OrderDTO orderDTO, Client supplier, Client consumer) {
-    log.info("Validating order..");
+    var validation = OrderValidationEvent.start(orderDTO);
+    try {
+      checkOrderRules(orderDTO, supplier, consumer);
+      validation.finish(null);
+    } catch (RuntimeException e) {
+      validation.finish(e);
+      throw e;
+    }
+  }
+
+  private void checkOrderRules(OrderDTO orderDTO, Client supplier, Client consumer) {
+    log.debug("Validating order..");
     var orderPrice = orderDTO.getPrice();
     if (orderPrice.compareTo(BigDecimal.ZERO) <= 0) {
       log.error("Order price is less than or equal to 1.");
       throw new InvalidPriceException("Order price must be equal or greater than 1");
     }
+    if (orderPrice.stripTrailingZeros().scale() > Money.SCALE) {
+      log.error("Order price {} has more than {} decimal places.", orderPrice, Money.SCALE);
+      throw new InvalidPriceException(
+          "Order price must not have more than " + Money.SCALE + " decimal places");
+    }
 
     var supplierId = orderDTO.getSupplierId();
     var consumerId = orderDTO.getConsumerId();
@@ -100,13 +332,13 @@ public class OrderService {
 
     checkClientsActivity(supplier, consumer);
 
-    if (clientService.wouldExceedProfitLimit(consumerId, orderPrice)) {
+    if (clientService.wouldExceedProfitLimit(consumerId, Money.of(orderPrice))) {
       var currentProfit = clientService.calculateClientProfit(consumerId);
       log.error("Consumer's profit is {}, must not be less than -{} after the order.",
           currentProfit, limit);
       throw new ClientProfitLimitExceededException("Consumer's profit limit exceeded");
     }
-    log.info("Validation finished.");
+    log.debug("Validation finished.");
   }
 
   private void checkClientsActivity(Client supplier, Client consumer) {
@@ -121,25 +353,33 @@ public class OrderService {
   }
 
   private boolean isOrderExists(String title, Long supplierId, Long consumerId) {
-    return orderRepository.existsByTitleAndSupplierIdAndConsumerId(title, supplierId, consumerId);
+    // archived orders keep their business key in archived_order_keys
+    return orderRepository.existsByBusinessKey(title, supplierId, consumerId);
   }
 
-  @Transactional(readOnly = true)
-  public List<OrderResponseDTO> getAllOrders() {
-    return orderRepository.findAll().stream().map(orderMapper::toOrderResponseDto).toList();
+  public RowSource<OrderResponseDTO> streamAllOrders() {
+    var readOnlyTransaction = new TransactionTemplate(transactionManager);
+    readOnlyTransaction.setReadOnly(true);
+    return sink -> readOnlyTransaction.executeWithoutResult(status -> {
+      try (var orders = orderRepository.streamAllDtos()) {
+        orders.forEach(sink);
+      }
+    });
   }
 
-  @Transactional(readOnly = true)
-  public Map<String, Object> getAllOrdersByClientId(Long clientId) {
+  public Map<String, Object> getAllOrdersByClientId(Long clientId, boolean includeArchived) {
     log.info("Collecting client's orders.");
-    var sales = orderRepository.findBySupplierId(clientId)
-        .stream()
-        .map(orderMapper::toOrderResponseDto)
-        .toList();
-    var purchases = orderRepository.findByConsumerId(clientId)
-        .stream()
-        .map(orderMapper::toOrderResponseDto)
-        .toList();
+    var sales = new ArrayList<OrderResponseDTO>();
+    var purchases = new ArrayList<OrderResponseDTO>();
+    if (includeArchived) {
+      orderArchiver.collectOrders(clientId, sales, purchases);
+    }
+    var readOnlyTransaction = new TransactionTemplate(transactionManager);
+    readOnlyTransaction.setReadOnly(true);
+    readOnlyTransaction.executeWithoutResult(status -> {
+      sales.addAll(orderRepository.findDtosBySupplierId(clientId));
+      purchases.addAll(orderRepository.findDtosByConsumerId(clientId));
+    });
 
     Map<String, Object> result = new HashMap<>();
     result.put("sales", sales);
@@ -147,11 +387,57 @@ public class OrderService {
     return result;
   }
 
-  public List<Order> getOrdersByConsumerId(Long clientId) {
-    return orderRepository.findByConsumerId(clientId);
+  @Override
+  public void start() {
+    shutdownRejection = null;
+    accepting = true;
+    var pendingOrders = pendingOrderRepository.findAllByOrderById();
+    if (!pendingOrders.isEmpty()) {
+      log.info("Resuming {} orders that were pending at the last shutdown.",
+          pendingOrders.size());
+      pendingOrders.forEach(this::resumeOrder);
+    }
+  }
+
+  /**
+   * Stops accepting orders and waits up to {@code order.drain.timeout} for the ones in flight,
+   * then rejects those still processing with {@link OrderOverloadException}. Runs before the
+   * order processor and the web server stop, so every request still gets its response.
+   */
+  @Override
+  public void stop() {
+    accepting = false;
+    var startNanos = System.nanoTime();
+    var deadline = startNanos + drainTimeout.toNanos();
+    synchronized (drainLock) {
+      try {
+        while (inFlight.get() > 0 && deadline - System.nanoTime() > 0) {
+          drainLock.wait(Math.max(1, (deadline - System.nanoTime()) / 1_000_000));
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+    if (inFlight.get() > 0) {
+      shutdownRejection = new OrderOverloadException(
+          "Order service is shutting down, retry later.", drainRetryAfterSeconds);
+      var rejected = processing.stream()
+          .filter(orderProcessing -> orderProcessing.completeExceptionally(shutdownRejection))
+          .count();
+      log.warn("{} orders still processing after {} ms were rejected, resumed ones stay pending "
+          + "for the next start.", rejected, drainTimeout.toMillis());
+    } else {
+      log.info("Drained in-flight orders in {} ms.", (System.nanoTime() - startNanos) / 1_000_000);
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return accepting;
   }
 
-  public List<Order> getOrdersBySupplierId(Long clientId) {
-    return orderRepository.findBySupplierId(clientId);
+  @Override
+  public int getPhase() {
+    return PHASE;
   }
 }
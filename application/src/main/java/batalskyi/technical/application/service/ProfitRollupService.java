@@ -0,0 +1,404 @@
+package batalskyi.technical.application.service;
+
+import batalskyi.technical.application.archive.OrderArchiver;
+import batalskyi.technical.application.dto.OrderResponseDTO;
+import batalskyi.technical.application.entity.RollupGranularity;
+import batalskyi.technical.application.exception.AttributeMismatchException;
+import batalskyi.technical.application.repository.ArchivedClientTotalsRepository;
+import batalskyi.technical.application.repository.OrderRepository;
+import batalskyi.technical.application.repository.ProfitRollupRepository;
+import batalskyi.technical.application.repository.RollupTotals;
+import batalskyi.technical.application.util.LongLongHashMap;
+import batalskyi.technical.application.util.Money;
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Keeps hourly and daily profit rollups per client and answers historical profit questions from
+ * them. The buckets of an order are updated in the transaction that saves it, so the rollups hold
+ * exactly the committed orders. On start, before orders are accepted, the order counts of the
+ * live rollups are checked against the orders table and the daily rollups of archived months
+ * against the archived totals; only what disagrees is rebuilt. {@link #repair()} rebuilds both
+ * on request. The SQL is plain enough for H2 and Postgres alike.
+ */
+@Log4j2
+@Lazy(false)
+@Service
+public class ProfitRollupService implements SmartLifecycle {
+
+  private static final Comparator<Bucket> LOCK_ORDER = Comparator
+      .comparing(Bucket::clientId)
+      .thenComparing(Bucket::granularity)
+      .thenComparing(Bucket::start);
+
+  private static final String UNIQUE_VIOLATION = "23505";
+
+  private static final String ADD_TO_BUCKET = """
+      update profit_rollups
+      set sales_minor = sales_minor + ?, purchases_minor = purchases_minor + ?,
+          order_count = order_count + 1
+      where client_id = ? and granularity = ? and bucket_start = ?
+      """;
+
+  private static final String INSERT_BUCKET = """
+      insert into profit_rollups
+          (client_id, granularity, bucket_start, sales_minor, purchases_minor, order_count)
+      values (?, ?, ?, ?, ?, ?)
+      """;
+
+  private static final String REBUILD_FROM_ORDERS = """
+      insert into profit_rollups
+          (client_id, granularity, bucket_start, sales_minor, purchases_minor, order_count)
+      select client_id, '%1$s', bucket_start, sum(sales_minor), sum(purchases_minor), count(*)
+      from (
+          select supplier_id as client_id, date_trunc('%2$s', created_at) as bucket_start,
+              cast(price * 100 as bigint) as sales_minor, cast(0 as bigint) as purchases_minor
+          from orders where created_at >= ?
+          union all
+          select consumer_id, date_trunc('%2$s', created_at), cast(0 as bigint),
+              cast(price * 100 as bigint)
+          from orders where created_at >= ?
+      ) o
+      group by client_id, bucket_start
+      """;
+
+  private final ProfitRollupRepository rollupRepository;
+  private final OrderRepository orderRepository;
+  private final ArchivedClientTotalsRepository archivedTotalsRepository;
+  private final OrderArchiver orderArchiver;
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate rollupTransaction;
+  private final long hourlyRetentionDays;
+  private final long compactionIntervalMillis;
+  private volatile ScheduledExecutorService compaction;
+
+  public ProfitRollupService(ProfitRollupRepository rollupRepository,
+      OrderRepository orderRepository, ArchivedClientTotalsRepository archivedTotalsRepository,
+      OrderArchiver orderArchiver, DataSource dataSource,
+      PlatformTransactionManager transactionManager,
+      @Value("${order.rollups.hourly-retention}") Duration hourlyRetention,
+      @Value("${order.rollups.compaction-interval}") Duration compactionInterval) {
+    this.rollupRepository = rollupRepository;
+    this.orderRepository = orderRepository;
+    this.archivedTotalsRepository = archivedTotalsRepository;
+    this.orderArchiver = orderArchiver;
+    this.jdbcTemplate = new JdbcTemplate(dataSource);
+    this.rollupTransaction = new TransactionTemplate(transactionManager);
+    this.hourlyRetentionDays = hourlyRetention.toDays();
+    this.compactionIntervalMillis = compactionInterval.toMillis();
+  }
+
+  /**
+   * Adds a saved order to the hour and day buckets of its supplier and consumer with one batch of
+   * updates. Must run in the transaction that saves the order. The buckets are updated in key
+   * order, so concurrent orders of the same clients lock their rows in the same order. A bucket
+   * that does not exist yet is inserted under a savepoint: when another order inserted it first,
+   * only the savepoint is rolled back (Postgres would otherwise abort the whole transaction) and
+   * the bucket is updated instead.
+   */
+  public void addOrder(OrderResponseDTO order) {
+    var priceMinor = Money.toMinor(order.getPrice());
+    var buckets = new ArrayList<Bucket>();
+    for (var granularity : RollupGranularity.values()) {
+      var start = granularity.bucketOf(order.getCreatedAt());
+      buckets.add(new Bucket(order.getSupplierId(), granularity, start));
+      buckets.add(new Bucket(order.getConsumerId(), granularity, start));
+    }
+    buckets.sort(LOCK_ORDER);
+    var rows = new ArrayList<Object[]>(buckets.size());
+    for (var bucket : buckets) {
+      var supplier = bucket.clientId().equals(order.getSupplierId());
+      rows.add(new Object[] {supplier ? priceMinor : 0L, supplier ? 0L : priceMinor,
+          bucket.clientId(), bucket.granularity().name(), Timestamp.valueOf(bucket.start())});
+    }
+    var updated = jdbcTemplate.batchUpdate(ADD_TO_BUCKET, rows);
+    for (var i = 0; i < updated.length; i++) {
+      if (updated[i] == 0) {
+        insertBucket(rows.get(i));
+      }
+    }
+  }
+
+  private void insertBucket(Object[] row) {
+    var args = new ArgumentPreparedStatementSetter(
+        new Object[] {row[2], row[3], row[4], row[0], row[1], 1});
+    var inserted = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+      var savepoint = connection.setSavepoint();
+      try (var insert = connection.prepareStatement(INSERT_BUCKET)) {
+        args.setValues(insert);
+        insert.executeUpdate();
+      } catch (SQLException e) {
+        if (!UNIQUE_VIOLATION.equals(e.getSQLState())) {
+          throw e;
+        }
+        connection.rollback(savepoint);
+        return false;
+      }
+      connection.releaseSavepoint(savepoint);
+      return true;
+    });
+    if (!Boolean.TRUE.equals(inserted)) {
+      log.debug("Profit rollup bucket was created concurrently, updating it.");
+      jdbcTemplate.update(ADD_TO_BUCKET, row);
+    }
+  }
+
+  /**
+   * Rebuilds the rollups of the months still in the orders table from the orders, which scans
+   * them, then checks the daily rollups of archived months against the archived totals and
+   * rebuilds them from the archive files if any client differs.
+   */
+  public void repair() {
+    var liveFrom = orderArchiver.liveFrom();
+    var horizon = hourlyHorizon();
+    rebuildLive(liveFrom, horizon);
+    repairArchived(liveFrom, horizon);
+  }
+
+  /**
+   * The cheap check done on start: every live order is counted twice (supplier and consumer) in
+   * the daily rollups and, within the hourly retention, in the hourly ones; the order count comes
+   * from the created_at index.
+   */
+  private boolean liveCountsMatch(LocalDateTime liveFrom, LocalDateTime horizon) {
+    var hourlyFrom = liveFrom.isAfter(horizon) ? liveFrom : horizon;
+    return 2 * countOrdersFrom(liveFrom) == sumOrderCounts(RollupGranularity.DAY, liveFrom)
+        && 2 * countOrdersFrom(hourlyFrom) == sumOrderCounts(RollupGranularity.HOUR, hourlyFrom);
+  }
+
+  private long countOrdersFrom(LocalDateTime from) {
+    return jdbcTemplate.queryForObject("select count(*) from orders where created_at >= ?",
+        Long.class, Timestamp.valueOf(from));
+  }
+
+  private long sumOrderCounts(RollupGranularity granularity, LocalDateTime from) {
+    return jdbcTemplate.queryForObject("""
+        select coalesce(sum(order_count), 0) from profit_rollups
+        where granularity = ? and bucket_start >= ?
+        """, Long.class, granularity.name(), Timestamp.valueOf(from));
+  }
+
+  private void rebuildLive(LocalDateTime liveFrom, LocalDateTime horizon) {
+    var startNanos = System.nanoTime();
+    var rebuilt = rollupTransaction.execute(status -> {
+      jdbcTemplate.update("delete from profit_rollups where bucket_start >= ?",
+          Timestamp.valueOf(liveFrom));
+      var hourlyFrom = Timestamp.valueOf(liveFrom.isAfter(horizon) ? liveFrom : horizon);
+      var dailyFrom = Timestamp.valueOf(liveFrom);
+      return jdbcTemplate.update(rebuildFromOrders(RollupGranularity.HOUR), hourlyFrom,
+          hourlyFrom)
+          + jdbcTemplate.update(rebuildFromOrders(RollupGranularity.DAY), dailyFrom, dailyFrom);
+    });
+    log.info("Rebuilt {} profit rollups from {} on in {} ms.", rebuilt, liveFrom,
+        (System.nanoTime() - startNanos) / 1_000_000);
+  }
+
+  private static String rebuildFromOrders(RollupGranularity granularity) {
+    return REBUILD_FROM_ORDERS.formatted(granularity.name(),
+        granularity.name().toLowerCase(Locale.ROOT));
+  }
+
+  private void repairArchived(LocalDateTime liveFrom, LocalDateTime horizon) {
+    var mismatched = countArchivedMismatches(liveFrom);
+    if (mismatched > 0) {
+      log.warn("Daily profit rollups of {} clients disagree with their archived totals, "
+          + "rebuilding them from the archive files.", mismatched);
+      rebuildArchived(liveFrom, horizon);
+    }
+  }
+
+  private int countArchivedMismatches(LocalDateTime liveFrom) {
+    var sales = new LongLongHashMap();
+    var purchases = new LongLongHashMap();
+    jdbcTemplate.query("""
+        select client_id, sum(sales_minor), sum(purchases_minor) from profit_rollups
+        where granularity = 'DAY' and bucket_start < ? group by client_id
+        """, rs -> {
+      sales.addTo(rs.getLong(1), rs.getLong(2));
+      purchases.addTo(rs.getLong(1), rs.getLong(3));
+    }, Timestamp.valueOf(liveFrom));
+    var mismatched = 0;
+    var archivedClients = new LongLongHashMap();
+    for (var totals : archivedTotalsRepository.findAll()) {
+      archivedClients.addTo(totals.getClientId(), 1);
+      if (Money.toMinor(totals.getSales()) != sales.get(totals.getClientId())
+          || Money.toMinor(totals.getPurchases()) != purchases.get(totals.getClientId())) {
+        mismatched++;
+      }
+    }
+    var unarchived = new int[1];
+    sales.forEach((clientId, ignored) -> {
+      if (!archivedClients.containsKey(clientId)) {
+        unarchived[0]++;
+      }
+    });
+    return mismatched + unarchived[0];
+  }
+
+  private void rebuildArchived(LocalDateTime liveFrom, LocalDateTime horizon) {
+    var increments = new HashMap<Bucket, Increment>();
+    orderArchiver.forEachArchivedOrder(order -> {
+      var priceMinor = Money.toMinor(order.getPrice());
+      for (var granularity : RollupGranularity.values()) {
+        if (granularity == RollupGranularity.HOUR && order.getCreatedAt().isBefore(horizon)) {
+          continue;
+        }
+        var start = granularity.bucketOf(order.getCreatedAt());
+        increments.computeIfAbsent(new Bucket(order.getSupplierId(), granularity, start),
+            bucket -> new Increment()).add(priceMinor, 0);
+        increments.computeIfAbsent(new Bucket(order.getConsumerId(), granularity, start),
+            bucket -> new Increment()).add(0, priceMinor);
+      }
+    });
+    var rows = new ArrayList<Object[]>(increments.size());
+    increments.forEach((bucket, increment) -> rows.add(new Object[] {bucket.clientId(),
+        bucket.granularity().name(), Timestamp.valueOf(bucket.start()), increment.salesMinor,
+        increment.purchasesMinor, increment.orderCount}));
+    rollupTransaction.executeWithoutResult(status -> {
+      jdbcTemplate.update("delete from profit_rollups where bucket_start < ?",
+          Timestamp.valueOf(liveFrom));
+      jdbcTemplate.batchUpdate(INSERT_BUCKET, rows);
+    });
+    log.info("Rebuilt {} profit rollups of archived months.", rows.size());
+  }
+
+  private record Bucket(Long clientId, RollupGranularity granularity, LocalDateTime start) {
+
+  }
+
+  private static final class Increment {
+
+    private long salesMinor;
+    private long purchasesMinor;
+    private long orderCount;
+
+    private void add(long salesMinor, long purchasesMinor) {
+      this.salesMinor = Math.addExact(this.salesMinor, salesMinor);
+      this.purchasesMinor = Math.addExact(this.purchasesMinor, purchasesMinor);
+      this.orderCount++;
+    }
+  }
+
+  @Transactional(readOnly = true)
+  public BigDecimal getProfitForPeriod(Long clientId, LocalDate from, LocalDate to) {
+    if (to.isBefore(from)) {
+      log.error("Attribute 'to' should not be before 'from'.");
+      throw new AttributeMismatchException("Attribute 'to' should not be before 'from'.");
+    }
+    log.debug("Calculating profit for client with id {} between {} and {}.", clientId, from, to);
+    var totals = rollupRepository.sumBuckets(clientId, RollupGranularity.DAY,
+        from.atStartOfDay(), to.plusDays(1).atStartOfDay());
+    return profitOf(totals).toBigDecimal();
+  }
+
+  /**
+   * Sums the rollups before {@code asOf} and the orders of its partial hour or day. The orders of
+   * archived months are gone, so there only the start of a day can be answered.
+   */
+  @Transactional(readOnly = true)
+  public BigDecimal getProfitAsOf(Long clientId, LocalDateTime asOf) {
+    log.debug("Calculating profit for client with id {} as of {}.", clientId, asOf);
+    var day = RollupGranularity.DAY.bucketOf(asOf);
+    var hour = RollupGranularity.HOUR.bucketOf(asOf);
+    var liveFrom = orderArchiver.liveFrom();
+    if (asOf.isBefore(liveFrom)) {
+      if (!asOf.equals(day)) {
+        log.error("Profit as of {} falls into an archived month and is not a day start.", asOf);
+        throw new AttributeMismatchException("Attribute 'asOf' must be the start of a day "
+            + "before " + liveFrom + ", the orders of those months are archived.");
+      }
+      return profitOf(rollupRepository.sumBucketsBefore(clientId, day, day)).toBigDecimal();
+    }
+    // hourly buckets of that day may already be compacted away, then the whole day is partial
+    var partialFrom = hour.isBefore(hourlyHorizon().plusDays(1)) ? day : hour;
+    var totals = rollupRepository.sumBucketsBefore(clientId, day, partialFrom);
+    var partial = orderRepository.sumProfitTotalsBetween(clientId, partialFrom, asOf);
+    return profitOf(totals)
+        .plus(Money.of(partial.getSales()))
+        .minus(Money.of(partial.getPurchases()))
+        .toBigDecimal();
+  }
+
+  private static Money profitOf(RollupTotals totals) {
+    return Money.ofMinor(totals.getSalesMinor()).minus(Money.ofMinor(totals.getPurchasesMinor()));
+  }
+
+  public int compact() {
+    var horizon = hourlyHorizon();
+    var removed = rollupTransaction.execute(status ->
+        rollupRepository.deleteBucketsBefore(RollupGranularity.HOUR, horizon));
+    if (removed > 0) {
+      log.info("Compacted {} hourly profit rollups older than {}.", removed, horizon);
+    }
+    return removed;
+  }
+
+  private void compactQuietly() {
+    try {
+      compact();
+    } catch (RuntimeException e) {
+      log.error("Profit rollup compaction failed.", e);
+    }
+  }
+
+  private LocalDateTime hourlyHorizon() {
+    return LocalDate.now().minusDays(hourlyRetentionDays).atStartOfDay();
+  }
+
+  @Override
+  public void start() {
+    var liveFrom = orderArchiver.liveFrom();
+    var horizon = hourlyHorizon();
+    if (!liveCountsMatch(liveFrom, horizon)) {
+      log.warn("Profit rollups from {} on do not count every order, rebuilding them.", liveFrom);
+      rebuildLive(liveFrom, horizon);
+    }
+    repairArchived(liveFrom, horizon);
+    compaction = Executors.newSingleThreadScheduledExecutor(
+        Thread.ofPlatform().name("profit-rollup-compaction").daemon().factory());
+    compaction.scheduleWithFixedDelay(this::compactQuietly, compactionIntervalMillis,
+        compactionIntervalMillis, TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public void stop() {
+    compaction.shutdownNow();
+    compaction = null;
+  }
+
+  @Override
+  public boolean isRunning() {
+    return compaction != null;
+  }
+
+  /**
+   * Starts before OrderService accepts orders and stops after it has drained them.
+   */
+  @Override
+  public int getPhase() {
+    return OrderService.PHASE - 1;
+  }
+}
@@ -0,0 +1,107 @@
+package batalskyi.technical.application.streaming;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.accept.ContentNegotiationManager;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@Log4j2
+@Component
+public class RowArrayStreamer {
+
+  private static final List<MediaType> PRODUCIBLE_TYPES = List.of(MediaType.APPLICATION_JSON,
+      MediaType.APPLICATION_CBOR);
+
+  private final ObjectMapper jsonMapper;
+  private final ObjectMapper cborMapper;
+  private final ContentNegotiationManager contentNegotiationManager;
+  private final int flushEveryRows;
+
+  public RowArrayStreamer(ObjectMapper jsonMapper,
+      MappingJackson2CborHttpMessageConverter cborHttpMessageConverter,
+      ContentNegotiationManager contentNegotiationManager,
+      @Value("${streaming.flush-every-rows}") int flushEveryRows) {
+    this.jsonMapper = jsonMapper;
+    this.cborMapper = cborHttpMessageConverter.getObjectMapper();
+    this.contentNegotiationManager = contentNegotiationManager;
+    this.flushEveryRows = flushEveryRows;
+  }
+
+  /**
+   * Picks JSON or CBOR for a streamed body the way Spring MVC picks a message converter: the
+   * acceptable types come from the MVC content negotiation manager and the most specific
+   * compatible one wins, JSON for wildcards.
+   */
+  public MediaType negotiate(NativeWebRequest request)
+      throws HttpMediaTypeNotAcceptableException {
+    var compatibleTypes = new ArrayList<MediaType>();
+    for (var acceptedType : contentNegotiationManager.resolveMediaTypes(request)) {
+      for (var producibleType : PRODUCIBLE_TYPES) {
+        if (acceptedType.isCompatibleWith(producibleType)) {
+          compatibleTypes.add(acceptedType.isConcrete() ? acceptedType
+              : producibleType.copyQualityValue(acceptedType));
+        }
+      }
+    }
+    MimeTypeUtils.sortBySpecificity(compatibleTypes);
+    for (var compatibleType : compatibleTypes) {
+      if (compatibleType.getQualityValue() > 0) {
+        return compatibleType.removeQualityValue();
+      }
+    }
+    throw new HttpMediaTypeNotAcceptableException(PRODUCIBLE_TYPES);
+  }
+
+  public <T> StreamingResponseBody stream(RowSource<T> source, MediaType format) {
+    var mapper = MediaType.APPLICATION_CBOR.equalsTypeAndSubtype(format) ? cborMapper : jsonMapper;
+    return outputStream -> {
+      try (var generator = mapper.createGenerator(outputStream)) {
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        // a row source that fails must not leave a well-formed, truncated array behind
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+        generator.writeStartArray();
+        var writer = new RowWriter<T>(generator);
+        source.forEach(writer);
+        generator.writeEndArray();
+        log.debug("Streamed {} rows as {}.", writer.rows, format);
+      } catch (UncheckedIOException e) {
+        throw e.getCause();
+      }
+    };
+  }
+
+  private final class RowWriter<T> implements Consumer<T> {
+
+    private final JsonGenerator generator;
+    private long rows;
+
+    private RowWriter(JsonGenerator generator) {
+      this.generator = generator;
+    }
+
+    @Override
+    public void accept(T row) {
+      try {
+        generator.writePOJO(row);
+        if (++rows % flushEveryRows == 0) {
+          generator.flush();
+        }
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+  }
+}
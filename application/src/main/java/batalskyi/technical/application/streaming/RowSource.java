@@ -0,0 +1,9 @@
+package batalskyi.technical.application.streaming;
+
+import java.util.function.Consumer;
+
+@FunctionalInterface
+public interface RowSource<T> {
+
+  void forEach(Consumer<? super T> sink);
+}
@@ -0,0 +1,131 @@
+package batalskyi.technical.application.util;
+
+/**
+ * Open-addressing map from {@code long} to {@code long} with linear probing, for aggregating
+ * amounts per id without boxing. Absent keys read as zero. Not thread-safe.
+ */
+public final class LongLongHashMap {
+
+  private static final long EMPTY = 0L;
+
+  private long[] keys;
+  private long[] values;
+  private int mask;
+  private int size;
+  private int resizeAt;
+  private boolean hasZeroKey;
+  private long zeroValue;
+
+  public LongLongHashMap() {
+    this(16);
+  }
+
+  public LongLongHashMap(int expectedSize) {
+    allocate(Integer.highestOneBit(Math.max(expectedSize, 4) * 2 - 1) << 1);
+  }
+
+  public void addTo(long key, long delta) {
+    if (key == EMPTY) {
+      if (!hasZeroKey) {
+        hasZeroKey = true;
+        size++;
+      }
+      zeroValue = Math.addExact(zeroValue, delta);
+      return;
+    }
+    var slot = slotOf(key);
+    while (keys[slot] != EMPTY) {
+      if (keys[slot] == key) {
+        values[slot] = Math.addExact(values[slot], delta);
+        return;
+      }
+      slot = (slot + 1) & mask;
+    }
+    keys[slot] = key;
+    values[slot] = delta;
+    if (++size > resizeAt) {
+      rehash();
+    }
+  }
+
+  public void addAll(LongLongHashMap other) {
+    other.forEach(this::addTo);
+  }
+
+  public long get(long key) {
+    if (key == EMPTY) {
+      return zeroValue;
+    }
+    var slot = slotOf(key);
+    while (keys[slot] != EMPTY) {
+      if (keys[slot] == key) {
+        return values[slot];
+      }
+      slot = (slot + 1) & mask;
+    }
+    return 0L;
+  }
+
+  public boolean containsKey(long key) {
+    if (key == EMPTY) {
+      return hasZeroKey;
+    }
+    var slot = slotOf(key);
+    while (keys[slot] != EMPTY) {
+      if (keys[slot] == key) {
+        return true;
+      }
+      slot = (slot + 1) & mask;
+    }
+    return false;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public void forEach(Entry action) {
+    if (hasZeroKey) {
+      action.accept(EMPTY, zeroValue);
+    }
+    for (var i = 0; i < keys.length; i++) {
+      if (keys[i] != EMPTY) {
+        action.accept(keys[i], values[i]);
+      }
+    }
+  }
+
+  private int slotOf(long key) {
+    var hash = key * 0x9E3779B97F4A7C15L;
+    return (int) (hash ^ (hash >>> 32)) & mask;
+  }
+
+  private void allocate(int capacity) {
+    keys = new long[capacity];
+    values = new long[capacity];
+    mask = capacity - 1;
+    resizeAt = capacity / 2;
+  }
+
+  private void rehash() {
+    var oldKeys = keys;
+    var oldValues = values;
+    allocate(oldKeys.length * 2);
+    for (var i = 0; i < oldKeys.length; i++) {
+      if (oldKeys[i] != EMPTY) {
+        var slot = slotOf(oldKeys[i]);
+        while (keys[slot] != EMPTY) {
+          slot = (slot + 1) & mask;
+        }
+        keys[slot] = oldKeys[i];
+        values[slot] = oldValues[i];
+      }
+    }
+  }
+
+  @FunctionalInterface
+  public interface Entry {
+
+    void accept(long key, long value);
+  }
+}
@@ -0,0 +1,80 @@
+package batalskyi.technical.application.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Fixed-scale amount kept as a {@code long} count of minor units (cents). Used internally for
+ * ledgers, limit checks and aggregation; converted to {@link BigDecimal} only at the API boundary.
+ * All arithmetic is overflow-checked and throws {@link ArithmeticException}.
+ */
+public final class Money implements Comparable<Money> {
+
+  public static final int SCALE = 2;
+
+  public static final Money ZERO = new Money(0L);
+
+  private static final long MINOR_PER_UNIT = 100L;
+
+  private final long minorUnits;
+
+  private Money(long minorUnits) {
+    this.minorUnits = minorUnits;
+  }
+
+  public static Money ofMinor(long minorUnits) {
+    return minorUnits == 0L ? ZERO : new Money(minorUnits);
+  }
+
+  public static Money of(BigDecimal amount) {
+    return amount == null ? ZERO : ofMinor(toMinor(amount));
+  }
+
+  public static long toMinor(BigDecimal amount) {
+    return amount.setScale(SCALE, RoundingMode.HALF_UP).movePointRight(SCALE).longValueExact();
+  }
+
+  public long minorUnits() {
+    return minorUnits;
+  }
+
+  public Money plus(Money other) {
+    return ofMinor(Math.addExact(minorUnits, other.minorUnits));
+  }
+
+  public Money minus(Money other) {
+    return ofMinor(Math.subtractExact(minorUnits, other.minorUnits));
+  }
+
+  public Money negate() {
+    return ofMinor(Math.negateExact(minorUnits));
+  }
+
+  public boolean isLessThan(Money other) {
+    return minorUnits < other.minorUnits;
+  }
+
+  public BigDecimal toBigDecimal() {
+    return BigDecimal.valueOf(minorUnits, SCALE);
+  }
+
+  @Override
+  public int compareTo(Money other) {
+    return Long.compare(minorUnits, other.minorUnits);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    return o instanceof Money other && other.minorUnits == minorUnits;
+  }
+
+  @Override
+  public int hashCode() {
+    return Long.hashCode(minorUnits);
+  }
+
+  @Override
+  public String toString() {
+    return toBigDecimal().toPlainString();
+  }
+}
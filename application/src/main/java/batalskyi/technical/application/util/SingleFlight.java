@@ -0,0 +1,66 @@
+package batalskyi.technical.application.util;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent calls for the same key: the first caller runs the call, callers arriving
+ * while it is in flight wait for and share its result. Nothing is kept once the call completes;
+ * {@link #forget} makes callers arriving after a write start a fresh call instead of joining one
+ * that may have read the old state.
+ */
+public final class SingleFlight<K, V> {
+
+  private final ConcurrentHashMap<K, CompletableFuture<V>> calls = new ConcurrentHashMap<>();
+  private final LongAdder executed = new LongAdder();
+  private final LongAdder shared = new LongAdder();
+
+  public V execute(K key, Supplier<V> call) {
+    var flight = new CompletableFuture<V>();
+    var inFlight = calls.putIfAbsent(key, flight);
+    if (inFlight != null) {
+      shared.increment();
+      return await(inFlight);
+    }
+    executed.increment();
+    try {
+      var result = call.get();
+      flight.complete(result);
+      return result;
+    } catch (RuntimeException | Error e) {
+      flight.completeExceptionally(e);
+      throw e;
+    } finally {
+      calls.remove(key, flight);
+    }
+  }
+
+  public void forget(K key) {
+    calls.remove(key);
+  }
+
+  public long executedCalls() {
+    return executed.sum();
+  }
+
+  public long sharedCalls() {
+    return shared.sum();
+  }
+
+  private static <V> V await(CompletableFuture<V> flight) {
+    try {
+      return flight.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      if (e.getCause() instanceof Error cause) {
+        throw cause;
+      }
+      throw e;
+    }
+  }
+}
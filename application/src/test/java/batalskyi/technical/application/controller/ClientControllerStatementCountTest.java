@@ -0,0 +1,30 @@
+package batalskyi.technical.application.controller;
+
+import batalskyi.technical.application.diagnostics.StatementCountTest;
+
+class ClientControllerStatementCountTest extends StatementCountTest {
+
+  @EachDataset
+  void getClient(String dataset) throws Exception {
+    seed(dataset);
+    assertRequestStatements(1, "/api/clients/getClient/1");
+  }
+
+  @EachDataset
+  void getClients(String dataset) throws Exception {
+    seed(dataset);
+    assertRequestStatements(1, "/api/clients/getClients?ids=1,2,3,4,5");
+  }
+
+  @EachDataset
+  void getProfit(String dataset) throws Exception {
+    seed(dataset);
+    assertRequestStatements(2, "/api/clients/getProfit/1");
+  }
+
+  @EachDataset
+  void getProfits(String dataset) throws Exception {
+    seed(dataset);
+    assertRequestStatements(1, "/api/clients/getProfits?ids=1,2,3,4,5");
+  }
+}
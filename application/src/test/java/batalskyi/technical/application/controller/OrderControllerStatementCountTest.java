@@ -0,0 +1,18 @@
+package batalskyi.technical.application.controller;
+
+import batalskyi.technical.application.diagnostics.StatementCountTest;
+
+class OrderControllerStatementCountTest extends StatementCountTest {
+
+  @EachDataset
+  void getOrdersForClient(String dataset) throws Exception {
+    seed(dataset);
+    assertRequestStatements(2, "/api/orders/getOrdersForClient/1");
+  }
+
+  @EachDataset
+  void getOrdersForClientWithArchive(String dataset) throws Exception {
+    seed(dataset);
+    assertRequestStatements(3, "/api/orders/getOrdersForClient/1?includeArchived=true");
+  }
+}
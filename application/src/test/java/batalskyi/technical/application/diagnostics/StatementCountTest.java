@@ -0,0 +1,95 @@
+package batalskyi.technical.application.diagnostics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import batalskyi.technical.application.processing.OrderProcessor;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.CompletableFuture;
+import javax.sql.DataSource;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Base of the statement count tests. Every test runs once per seeded dataset (datasets/*.sql)
+ * and asserts how many statements were executed on the test thread, Hibernate's and
+ * JdbcTemplate's alike, so a call whose count grows with the data fails the build in the large
+ * dataset. Orders are processed inline: the delay would otherwise move the save onto a processor
+ * thread, where a thread-bound {@link SqlStatementCounter} scope does not see it. Read endpoints
+ * are checked through the {@link SqlStatementCountingFilter#HEADER} of their response.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:statement-counts;DB_CLOSE_DELAY=-1",
+    "order.archive.directory=target/statement-counts/order-archive",
+    "order.export.directory=target/statement-counts/order-export",
+    "order.outbox.sink.file=target/statement-counts/order-outbox/messages.ndjson",
+    "diagnostics.sql.enabled=true"})
+@AutoConfigureMockMvc
+@Import(StatementCountTest.InlineProcessing.class)
+public abstract class StatementCountTest {
+
+  @Target(ElementType.METHOD)
+  @Retention(RetentionPolicy.RUNTIME)
+  @ParameterizedTest(name = "{0} dataset")
+  @ValueSource(strings = {"small", "large"})
+  protected @interface EachDataset {
+  }
+
+  @Autowired
+  private DataSource dataSource;
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  protected void seed(String dataset) {
+    new ResourceDatabasePopulator(new ClassPathResource("datasets/" + dataset + ".sql"))
+        .execute(dataSource);
+  }
+
+  protected void assertStatements(int maxStatements, Runnable call) {
+    try (var scope = SqlStatementCounter.open()) {
+      call.run();
+      assertThat(scope.total())
+          .as("SQL statements, most repeated %d times: %s", scope.maxRepeats(),
+              scope.mostRepeated())
+          .isLessThanOrEqualTo(maxStatements);
+    }
+  }
+
+  protected void assertRequestStatements(int maxStatements, String uri) throws Exception {
+    var response = mockMvc.perform(get(uri))
+        .andExpect(status().isOk())
+        .andReturn()
+        .getResponse();
+    assertThat(response.getHeader(SqlStatementCountingFilter.HEADER))
+        .as("SQL statements of GET %s", uri)
+        .isNotNull()
+        .satisfies(count -> assertThat(Integer.parseInt(count))
+            .as("SQL statements of GET %s", uri)
+            .isLessThanOrEqualTo(maxStatements));
+  }
+
+  @TestConfiguration
+  static class InlineProcessing {
+
+    @Bean
+    @Primary
+    OrderProcessor inlineOrderProcessor() {
+      return orderDTO -> CompletableFuture.completedFuture(null);
+    }
+  }
+}
@@ -0,0 +1,106 @@
+package batalskyi.technical.application.service;
+
+import batalskyi.technical.application.diagnostics.StatementCountTest;
+import batalskyi.technical.application.dto.ClientCreateOrUpdateDTO;
+import batalskyi.technical.application.dto.OrderResponseDTO;
+import batalskyi.technical.application.events.OrderCommittedEvent;
+import batalskyi.technical.application.util.Money;
+import java.math.BigDecimal;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+
+class ClientServiceStatementCountTest extends StatementCountTest {
+
+  private static final List<Long> IDS = List.of(1L, 2L, 3L, 4L, 5L);
+
+  @Autowired
+  private ClientService clientService;
+
+  @EachDataset
+  void streamAllClients(String dataset) {
+    seed(dataset);
+    assertStatements(1, () -> clientService.streamAllClients().forEach(client -> { }));
+  }
+
+  @EachDataset
+  void createClient(String dataset) {
+    seed(dataset);
+    var client = new ClientCreateOrUpdateDTO();
+    client.setName("New client");
+    client.setEmail("new-client@example.com");
+    client.setAddress("New street");
+    assertStatements(2, () -> clientService.createClient(client));
+  }
+
+  @EachDataset
+  void updateClient(String dataset) {
+    seed(dataset);
+    assertStatements(4, () -> clientService.updateClient(2L, "Renamed",
+        "renamed@example.com", null, false));
+  }
+
+  @EachDataset
+  void streamClients(String dataset) {
+    seed(dataset);
+    assertStatements(1,
+        () -> clientService.streamClients("email", "example").forEach(client -> { }));
+  }
+
+  @EachDataset
+  void getClientById(String dataset) {
+    seed(dataset);
+    assertStatements(1, () -> clientService.getClientById(1L));
+  }
+
+  @EachDataset
+  void getClientDtoById(String dataset) {
+    seed(dataset);
+    assertStatements(1, () -> clientService.getClientDtoById(1L));
+  }
+
+  @EachDataset
+  void getProfitById(String dataset) {
+    seed(dataset);
+    assertStatements(2, () -> clientService.getProfitById(1L));
+  }
+
+  @EachDataset
+  void getClientsByIds(String dataset) {
+    seed(dataset);
+    assertStatements(1, () -> clientService.getClientsByIds(IDS));
+  }
+
+  @EachDataset
+  void getProfitsByIds(String dataset) {
+    seed(dataset);
+    assertStatements(1, () -> clientService.getProfitsByIds(IDS));
+  }
+
+  @EachDataset
+  void calculateClientProfit(String dataset) {
+    seed(dataset);
+    assertStatements(2, () -> clientService.calculateClientProfit(1L));
+  }
+
+  @EachDataset
+  void onOrderCommitted(String dataset) {
+    seed(dataset);
+    var order = new OrderResponseDTO();
+    order.setSupplierId(1L);
+    order.setConsumerId(2L);
+    assertStatements(0, () -> clientService.onOrderCommitted(new OrderCommittedEvent(order)));
+  }
+
+  @EachDataset
+  void wouldExceedProfitLimit(String dataset) {
+    seed(dataset);
+    assertStatements(2, () -> clientService.wouldExceedProfitLimit(2L, Money.of(BigDecimal.TEN)));
+  }
+
+  @EachDataset
+  void streamClientsInProfitRange(String dataset) {
+    seed(dataset);
+    assertStatements(1, () -> clientService.streamClientsInProfitRange(
+        new BigDecimal("-1000"), new BigDecimal("1000")).forEach(client -> { }));
+  }
+}
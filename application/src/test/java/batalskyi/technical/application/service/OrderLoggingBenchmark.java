@@ -0,0 +1,77 @@
+package batalskyi.technical.application.service;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Logging cost of one order: the seven INFO step messages OrderService used to write
+ * ({@code stepLogs}) against the single order.summary line ({@code summaryLog}), each with
+ * synchronous and with async loggers. Events go to a file with the pattern of
+ * log4j2-spring.xml. Run with allocation profiling:
+ * <pre>
+ * mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=target/test.classpath
+ * java -cp target/test-classes:target/classes:$(cat target/test.classpath) \
+ *     org.openjdk.jmh.Main OrderLoggingBenchmark -prof gc
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class OrderLoggingBenchmark {
+
+  @Param({"sync", "async"})
+  private String loggers;
+
+  private Logger log;
+  private final Long supplierId = 17L;
+  private final Long consumerId = 42L;
+  private final Long orderId = 1001L;
+  private final BigDecimal price = new BigDecimal("10.55");
+  private final Long durationMillis = 12L;
+
+  @Setup
+  public void setUp() {
+    // every parameter value runs in a fresh fork, so the selector can still be chosen here
+    System.setProperty("log4j2.configurationFile", "log4j2-benchmark.xml");
+    System.setProperty("log4j2.contextSelector", "async".equals(loggers)
+        ? "org.apache.logging.log4j.core.async.AsyncLoggerContextSelector"
+        : "org.apache.logging.log4j.core.selector.ClassLoaderContextSelector");
+    log = LogManager.getLogger(OrderService.class);
+  }
+
+  @Benchmark
+  public void stepLogs() {
+    log.info("Searching client with id: {}.", supplierId);
+    log.info("Searching client with id: {}.", consumerId);
+    log.info("Validating order..");
+    log.info("Validation finished.");
+    log.info("Processing order.");
+    log.info("Initiating additional activity check on clients with ids {} and {}. "
+        + "Refreshing clients state.", supplierId, consumerId);
+    log.info("Finished processing order.");
+  }
+
+  @Benchmark
+  public void summaryLog() {
+    log.info("order.summary outcome={} orderId={} supplierId={} consumerId={} price={} "
+        + "durationMs={}", "COMPLETED", orderId, supplierId, consumerId, price, durationMillis);
+  }
+}
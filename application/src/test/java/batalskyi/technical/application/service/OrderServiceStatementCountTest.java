@@ -0,0 +1,58 @@
+package batalskyi.technical.application.service;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import batalskyi.technical.application.diagnostics.StatementCountTest;
+import batalskyi.technical.application.dto.OrderDTO;
+import batalskyi.technical.application.exception.ClientNotActiveException;
+import java.math.BigDecimal;
+import org.springframework.beans.factory.annotation.Autowired;
+
+class OrderServiceStatementCountTest extends StatementCountTest {
+
+  @Autowired
+  private OrderService orderService;
+
+  @EachDataset
+  void createOrder(String dataset) {
+    seed(dataset);
+    // the rollup update batch and an insert for each of the four buckets that is still new
+    assertStatements(16, () -> orderService.createOrder(order(1L, 2L)).join());
+  }
+
+  @EachDataset
+  void createOrderRejected(String dataset) {
+    seed(dataset);
+    var inactiveConsumer = "small".equals(dataset) ? 10L : 200L;
+    assertStatements(3, () -> assertThatThrownBy(
+        () -> orderService.createOrder(order(1L, inactiveConsumer)))
+        .isInstanceOf(ClientNotActiveException.class));
+  }
+
+  @EachDataset
+  void streamAllOrders(String dataset) {
+    seed(dataset);
+    assertStatements(1, () -> orderService.streamAllOrders().forEach(order -> { }));
+  }
+
+  @EachDataset
+  void getAllOrdersByClientId(String dataset) {
+    seed(dataset);
+    assertStatements(2, () -> orderService.getAllOrdersByClientId(1L, false));
+  }
+
+  @EachDataset
+  void getAllOrdersByClientIdWithArchive(String dataset) {
+    seed(dataset);
+    assertStatements(3, () -> orderService.getAllOrdersByClientId(1L, true));
+  }
+
+  private static OrderDTO order(Long supplierId, Long consumerId) {
+    var order = new OrderDTO();
+    order.setTitle("new-order");
+    order.setSupplierId(supplierId);
+    order.setConsumerId(consumerId);
+    order.setPrice(new BigDecimal("10.00"));
+    return order;
+  }
+}
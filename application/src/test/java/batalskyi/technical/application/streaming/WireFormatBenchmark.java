@@ -0,0 +1,95 @@
+package batalskyi.technical.application.streaming;
+
+import batalskyi.technical.application.dto.OrderResponseDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.accept.ContentNegotiationManager;
+
+/**
+ * Payload size and CPU cost of an order list streamed as JSON and as CBOR by
+ * {@link RowArrayStreamer}, and of reading it back the way a client would. The encoded size
+ * is printed by the setup. Run like {@code MoneyBenchmark}:
+ * <pre>
+ * java -cp target/test-classes:target/classes:$(cat target/test.classpath) \
+ *     org.openjdk.jmh.Main WireFormatBenchmark -prof gc
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WireFormatBenchmark {
+
+  @Param({"application/json", "application/cbor"})
+  private String format;
+
+  private final int rows = 1000;
+  private MediaType mediaType;
+  private RowArrayStreamer streamer;
+  private ObjectMapper mapper;
+  private List<OrderResponseDTO> orders;
+  private byte[] encoded;
+
+  @Setup
+  public void setUp() throws IOException {
+    var jsonMapper = Jackson2ObjectMapperBuilder.json()
+        .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+        .build();
+    var cborMapper = Jackson2ObjectMapperBuilder.json()
+        .factory(new CBORFactory())
+        .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+        .build();
+    mediaType = MediaType.parseMediaType(format);
+    mapper = MediaType.APPLICATION_CBOR.equals(mediaType) ? cborMapper : jsonMapper;
+    streamer = new RowArrayStreamer(jsonMapper,
+        new MappingJackson2CborHttpMessageConverter(cborMapper), new ContentNegotiationManager(),
+        500);
+    orders = new ArrayList<>(rows);
+    var now = LocalDateTime.of(2026, 10, 19, 12, 0);
+    for (var i = 0; i < rows; i++) {
+      orders.add(new OrderResponseDTO((long) i, "order-" + i, 1L + i % 100, 101L + i % 100,
+          BigDecimal.valueOf(100 + i, 2), now.plusSeconds(i), now.plusSeconds(i + 5),
+          now.plusSeconds(i + 5)));
+    }
+    encoded = write();
+    System.out.printf("%n%d orders as %s: %d bytes, %d per row%n", rows, format,
+        encoded.length, encoded.length / rows);
+  }
+
+  @Benchmark
+  public byte[] write() throws IOException {
+    var out = new ByteArrayOutputStream(256 * rows);
+    RowSource<OrderResponseDTO> source = orders::forEach;
+    streamer.stream(source, mediaType).writeTo(out);
+    return out.toByteArray();
+  }
+
+  @Benchmark
+  public List<OrderResponseDTO> read() throws IOException {
+    return mapper.readerForListOf(OrderResponseDTO.class).readValue(encoded);
+  }
+}
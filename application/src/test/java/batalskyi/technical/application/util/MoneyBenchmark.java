@@ -0,0 +1,91 @@
+package batalskyi.technical.application.util;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Profit of a client (sales minus purchases) and the limit check on it, computed with
+ * {@link BigDecimal} as before and with {@link Money}. Run with allocation profiling:
+ * <pre>
+ * mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=target/test.classpath
+ * java -cp target/test-classes:target/classes:$(cat target/test.classpath) \
+ *     org.openjdk.jmh.Main MoneyBenchmark -prof gc
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoneyBenchmark {
+
+  private static final BigDecimal LIMIT = new BigDecimal("-1000");
+
+  @Param({"10", "1000"})
+  private int orders;
+
+  private BigDecimal[] sales;
+  private BigDecimal[] purchases;
+  private BigDecimal price;
+
+  @Setup
+  public void setUp() {
+    var random = new Random(42);
+    sales = new BigDecimal[orders];
+    purchases = new BigDecimal[orders];
+    for (var i = 0; i < orders; i++) {
+      sales[i] = BigDecimal.valueOf(1 + random.nextInt(100_000), 2);
+      purchases[i] = BigDecimal.valueOf(1 + random.nextInt(100_000), 2);
+    }
+    price = new BigDecimal("10.55");
+  }
+
+  @Benchmark
+  public boolean bigDecimalLimitCheck() {
+    var profit = BigDecimal.ZERO;
+    for (var sale : sales) {
+      profit = profit.add(sale);
+    }
+    for (var purchase : purchases) {
+      profit = profit.subtract(purchase);
+    }
+    return profit.subtract(price).compareTo(LIMIT) < 0;
+  }
+
+  @Benchmark
+  public boolean moneyLimitCheck() {
+    var profit = Money.ZERO;
+    for (var sale : sales) {
+      profit = profit.plus(Money.of(sale));
+    }
+    for (var purchase : purchases) {
+      profit = profit.minus(Money.of(purchase));
+    }
+    return profit.minus(Money.of(price)).isLessThan(Money.of(LIMIT));
+  }
+
+  @Benchmark
+  public boolean minorUnitsLimitCheck() {
+    var profitMinor = 0L;
+    for (var sale : sales) {
+      profitMinor = Math.addExact(profitMinor, Money.toMinor(sale));
+    }
+    for (var purchase : purchases) {
+      profitMinor = Math.subtractExact(profitMinor, Money.toMinor(purchase));
+    }
+    return Money.ofMinor(profitMinor).minus(Money.of(price)).isLessThan(Money.of(LIMIT));
+  }
+}
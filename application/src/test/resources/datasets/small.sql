@@ -0,0 +1,27 @@
+-- 10 clients, the last one deactivated, and 30 orders between the active ones; client 1 also
+-- has archived totals
+set referential_integrity false;
+truncate table outbox_messages restart identity;
+truncate table pending_orders restart identity;
+truncate table profit_rollups restart identity;
+truncate table archived_order_keys restart identity;
+truncate table archived_client_totals;
+truncate table order_archives restart identity;
+truncate table orders restart identity;
+truncate table clients restart identity;
+set referential_integrity true;
+
+insert into clients (name, email, address, active)
+select 'client-' || x, 'client-' || x || '@example.com', 'Street ' || x, true
+from system_range(1, 10);
+
+update clients set active = false, deactivated_at = current_timestamp where id = 10;
+
+insert into orders (title, supplier_id, consumer_id, price, processing_start_time,
+    processing_end_time, created_at)
+select 'order-' || x, mod(x, 9) + 1, mod(x + 3, 9) + 1, 10.00,
+    current_timestamp, current_timestamp, current_timestamp
+from system_range(1, 30);
+
+insert into archived_client_totals (client_id, sales, purchases, order_count)
+values (1, 100.00, 40.00, 7);
@@ -0,0 +1,13 @@
+package batalskyi.technical.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+@SpringBootApplication
+public class ReactiveOrderApp {
+
+  public static void main(String[] args) {
+    SpringApplication.run(ReactiveOrderApp.class, args);
+  }
+
+}
@@ -0,0 +1,93 @@
+package batalskyi.technical.reactive.controller;
+
+import batalskyi.technical.reactive.dto.ClientCreateOrUpdateDTO;
+import batalskyi.technical.reactive.dto.ClientDTO;
+import batalskyi.technical.reactive.dto.ClientWithProfitDTO;
+import batalskyi.technical.reactive.entity.Client;
+import batalskyi.technical.reactive.service.ClientService;
+import io.swagger.v3.oas.annotations.Operation;
+import jakarta.validation.Valid;
+import java.math.BigDecimal;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/clients")
+public class ClientController {
+
+  private final ClientService clientService;
+
+  @Operation(summary = "Create client",
+      description = "Create new Client.")
+  @PostMapping("/createClient")
+  public Mono<ResponseEntity<ClientDTO>> createClient(
+      @Valid @RequestBody ClientCreateOrUpdateDTO clientDTO) {
+    return clientService.createClient(clientDTO)
+        .map(client -> ResponseEntity.status(HttpStatus.CREATED).body(client));
+  }
+
+  @Operation(summary = "Get clients",
+      description = "Get list of clients.")
+  @GetMapping("/getAllClients")
+  public Flux<ClientDTO> getAllClients() {
+    return clientService.getAllClients();
+  }
+
+  @Operation(summary = "Find clients",
+      description = "Filter clients by name, email or address."
+          + " One filter at a time, at least 3 symbols to filter list.")
+  @GetMapping("/findClients")
+  public Flux<ClientDTO> searchClients(@RequestParam String field, @RequestParam String text) {
+    return clientService.searchClients(field, text);
+  }
+
+  @Operation(summary = "Get client",
+      description = "Get client by his id.")
+  @GetMapping("/getClient/{id}")
+  public Mono<ResponseEntity<Client>> getClient(@PathVariable Long id) {
+    return clientService.getClientById(id)
+        .map(client -> ResponseEntity.status(HttpStatus.OK).body(client));
+  }
+
+  @Operation(summary = "Update client",
+      description = "Update client by his id, at least 1 attribute should be passed.")
+  @PatchMapping("/editClient/{id}")
+  public Mono<ResponseEntity<ClientDTO>> editClient(
+      @PathVariable Long id,
+      @RequestParam(required = false) String name,
+      @RequestParam(required = false) String email,
+      @RequestParam(required = false) String address,
+      @RequestParam(required = false) Boolean active
+  ) {
+    return clientService.updateClient(id, name, email, address, active)
+        .map(client -> ResponseEntity.status(HttpStatus.OK).body(client));
+  }
+
+  @Operation(summary = "Get client's profit",
+      description = "Get profit of the client by his id.")
+  @GetMapping("/getProfit/{id}")
+  public Mono<ResponseEntity<BigDecimal>> getProfit(@PathVariable Long id) {
+    return clientService.getProfitById(id)
+        .map(profit -> ResponseEntity.status(HttpStatus.OK).body(profit));
+  }
+
+  @Operation(summary = "Get clients in the profit range",
+      description = "Get list of clients that have profit in specific range.")
+  @GetMapping("/searchClientsInProfitRange")
+  public Flux<ClientWithProfitDTO> searchClientsInProfitRange(@RequestParam BigDecimal min,
+      @RequestParam BigDecimal max) {
+    return clientService.searchClientsInProfitRange(min, max);
+  }
+}
@@ -0,0 +1,50 @@
+package batalskyi.technical.reactive.controller;
+
+import batalskyi.technical.reactive.dto.OrderDTO;
+import batalskyi.technical.reactive.dto.OrderResponseDTO;
+import batalskyi.technical.reactive.service.OrderService;
+import io.swagger.v3.oas.annotations.Operation;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/orders")
+public class OrderController {
+
+  private final OrderService orderService;
+
+  @Operation(summary = "Create order",
+      description = "Create order.")
+  @PostMapping("/createOrder")
+  public Mono<ResponseEntity<OrderResponseDTO>> createOrder(@RequestBody OrderDTO orderDTO) {
+    return orderService.createOrder(orderDTO)
+        .map(order -> ResponseEntity.status(HttpStatus.OK).body(order));
+  }
+
+  @Operation(summary = "Get orders",
+      description = "Get list of orders.")
+  @GetMapping("/getAllOrders")
+  public Flux<OrderResponseDTO> getAllOrders() {
+    return orderService.getAllOrders();
+  }
+
+  @Operation(summary = "Get client's orders",
+      description = "Get a list of orders in which this client participated.")
+  @GetMapping("/getOrdersForClient/{clientId}")
+  public Mono<ResponseEntity<Map<String, Object>>> getOrdersByClient(
+      @PathVariable Long clientId) {
+    return orderService.getAllOrdersByClientId(clientId)
+        .map(orders -> ResponseEntity.status(HttpStatus.OK).body(orders));
+  }
+}
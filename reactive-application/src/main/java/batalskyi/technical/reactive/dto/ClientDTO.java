@@ -0,0 +1,22 @@
+package batalskyi.technical.reactive.dto;
+
+import java.time.LocalDateTime;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class ClientDTO {
+
+  private Long id;
+
+  private String name;
+
+  private String email;
+
+  private String address;
+
+  private boolean active;
+
+  private LocalDateTime deactivatedAt;
+}
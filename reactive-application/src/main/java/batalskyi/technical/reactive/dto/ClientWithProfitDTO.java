@@ -0,0 +1,29 @@
+package batalskyi.technical.reactive.dto;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Setter
+@Getter
+@NoArgsConstructor
+@JsonPropertyOrder({"id", "name", "email", "address", "active", "profit", "deactivatedAt"})
+public class ClientWithProfitDTO {
+
+  private Long id;
+
+  private String name;
+
+  private String email;
+
+  private String address;
+
+  private boolean active;
+
+  private BigDecimal profit;
+
+  private LocalDateTime deactivatedAt;
+}
@@ -0,0 +1,33 @@
+package batalskyi.technical.reactive.entity;
+
+import java.time.LocalDateTime;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+@Table("clients")
+@Getter
+@NoArgsConstructor
+public class Client {
+
+  @Id
+  private Long id;
+
+  @Setter
+  private String name;
+
+  @Setter
+  private String email;
+
+  @Setter
+  private String address;
+
+  @Setter
+  private boolean active = true;
+
+  @Setter
+  private LocalDateTime deactivatedAt;
+
+}
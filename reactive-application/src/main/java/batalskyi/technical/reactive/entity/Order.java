@@ -0,0 +1,40 @@
+package batalskyi.technical.reactive.entity;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+@Table("orders")
+@Getter
+@NoArgsConstructor
+public class Order {
+
+  @Id
+  private Long id;
+
+  @Setter
+  private String title;
+
+  @Setter
+  private Long supplierId;
+
+  @Setter
+  private Long consumerId;
+
+  @Setter
+  private BigDecimal price;
+
+  @Setter
+  private LocalDateTime processingStartTime;
+
+  @Setter
+  private LocalDateTime processingEndTime;
+
+  @Setter
+  private LocalDateTime createdAt;
+
+}
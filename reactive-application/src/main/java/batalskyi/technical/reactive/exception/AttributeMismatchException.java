@@ -0,0 +1,8 @@
+package batalskyi.technical.reactive.exception;
+
+public class AttributeMismatchException extends RuntimeException {
+
+  public AttributeMismatchException(String message) {
+    super(message);
+  }
+}
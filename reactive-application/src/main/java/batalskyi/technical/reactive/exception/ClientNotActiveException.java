@@ -0,0 +1,8 @@
+package batalskyi.technical.reactive.exception;
+
+public class ClientNotActiveException extends RuntimeException {
+
+  public ClientNotActiveException(String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,8 @@
+package batalskyi.technical.reactive.exception;
+
+public class ClientNotFoundException extends RuntimeException {
+
+  public ClientNotFoundException(String message) {
+    super(message);
+  }
+}
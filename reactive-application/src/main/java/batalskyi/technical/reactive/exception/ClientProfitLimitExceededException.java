@@ -0,0 +1,8 @@
+package batalskyi.technical.reactive.exception;
+
+public class ClientProfitLimitExceededException extends RuntimeException {
+
+  public ClientProfitLimitExceededException(String message) {
+    super(message);
+  }
+}
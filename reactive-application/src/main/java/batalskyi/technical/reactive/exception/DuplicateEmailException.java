@@ -0,0 +1,8 @@
+package batalskyi.technical.reactive.exception;
+
+public class DuplicateEmailException extends RuntimeException {
+
+  public DuplicateEmailException(String message) {
+    super(message);
+  }
+}
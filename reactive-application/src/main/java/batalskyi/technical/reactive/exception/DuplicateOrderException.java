@@ -0,0 +1,8 @@
+package batalskyi.technical.reactive.exception;
+
+public class DuplicateOrderException extends RuntimeException {
+
+  public DuplicateOrderException(String message) {
+    super(message);
+  }
+}
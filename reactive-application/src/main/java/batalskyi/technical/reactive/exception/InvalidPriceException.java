@@ -0,0 +1,8 @@
+package batalskyi.technical.reactive.exception;
+
+public class InvalidPriceException extends RuntimeException {
+
+  public InvalidPriceException(String message) {
+    super(message);
+  }
+}
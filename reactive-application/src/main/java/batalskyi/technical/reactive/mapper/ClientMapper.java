@@ -0,0 +1,20 @@
+package batalskyi.technical.reactive.mapper;
+
+import batalskyi.technical.reactive.dto.ClientCreateOrUpdateDTO;
+import batalskyi.technical.reactive.dto.ClientDTO;
+import batalskyi.technical.reactive.entity.Client;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.springframework.stereotype.Component;
+
+@Component
+@Mapper(componentModel = "spring")
+public interface ClientMapper {
+
+  ClientDTO toClientDTO(Client client);
+
+  @Mapping(target = "id", ignore = true)
+  @Mapping(target = "deactivatedAt", ignore = true)
+  Client clientCreateToClient(ClientCreateOrUpdateDTO clientDTO);
+
+}
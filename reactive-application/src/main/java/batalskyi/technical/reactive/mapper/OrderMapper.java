@@ -0,0 +1,13 @@
+package batalskyi.technical.reactive.mapper;
+
+import batalskyi.technical.reactive.dto.OrderResponseDTO;
+import batalskyi.technical.reactive.entity.Order;
+import org.mapstruct.Mapper;
+import org.springframework.stereotype.Component;
+
+@Component
+@Mapper(componentModel = "spring")
+public interface OrderMapper {
+
+  OrderResponseDTO toOrderResponseDto(Order order);
+}
@@ -0,0 +1,28 @@
+package batalskyi.technical.reactive.repository;
+
+import batalskyi.technical.reactive.dto.ClientWithProfitDTO;
+import batalskyi.technical.reactive.entity.Client;
+import java.math.BigDecimal;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface ClientRepository extends R2dbcRepository<Client, Long> {
+
+  String PROFIT = """
+      coalesce(sum(case when o.supplier_id = c.id then o.price end), 0)
+          - coalesce(sum(case when o.consumer_id = c.id then o.price end), 0)
+      """;
+
+  Mono<Client> findByEmail(String email);
+
+  @Query("select c.id, c.name, c.email, c.address, c.active, c.deactivated_at, "
+      + PROFIT + " as profit "
+      + "from clients c left join orders o on o.supplier_id = c.id or o.consumer_id = c.id "
+      + "group by c.id, c.name, c.email, c.address, c.active, c.deactivated_at "
+      + "having " + PROFIT + " between :min and :max")
+  Flux<ClientWithProfitDTO> findWithProfitBetween(BigDecimal min, BigDecimal max);
+}
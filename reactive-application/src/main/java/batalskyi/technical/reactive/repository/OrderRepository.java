@@ -0,0 +1,26 @@
+package batalskyi.technical.reactive.repository;
+
+import batalskyi.technical.reactive.entity.Order;
+import java.math.BigDecimal;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface OrderRepository extends R2dbcRepository<Order, Long> {
+
+  Flux<Order> findBySupplierId(Long supplierId);
+
+  Flux<Order> findByConsumerId(Long consumerId);
+
+  Mono<Boolean> existsByTitleAndSupplierIdAndConsumerId(String title, Long supplierId,
+      Long consumerId);
+
+  @Query("select coalesce(sum(price), 0) from orders where supplier_id = :clientId")
+  Mono<BigDecimal> sumSalesBySupplierId(Long clientId);
+
+  @Query("select coalesce(sum(price), 0) from orders where consumer_id = :clientId")
+  Mono<BigDecimal> sumPurchasesByConsumerId(Long clientId);
+}
@@ -0,0 +1,157 @@
+package batalskyi.technical.reactive.service;
+
+import batalskyi.technical.reactive.dto.ClientCreateOrUpdateDTO;
+import batalskyi.technical.reactive.dto.ClientDTO;
+import batalskyi.technical.reactive.dto.ClientWithProfitDTO;
+import batalskyi.technical.reactive.entity.Client;
+import batalskyi.technical.reactive.exception.AttributeMismatchException;
+import batalskyi.technical.reactive.exception.ClientNotFoundException;
+import batalskyi.technical.reactive.exception.DuplicateEmailException;
+import batalskyi.technical.reactive.mapper.ClientMapper;
+import batalskyi.technical.reactive.repository.ClientRepository;
+import batalskyi.technical.reactive.repository.OrderRepository;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.relational.core.query.Criteria;
+import org.springframework.data.relational.core.query.Query;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Log4j2
+@Service
+@RequiredArgsConstructor
+public class ClientService {
+
+  private static final Set<String> FIELDS = Set.of("name", "email", "address");
+
+  @Value("${consumer.limit.value}")
+  private BigDecimal limit;
+
+  private final ClientRepository clientRepository;
+  private final OrderRepository orderRepository;
+  private final ClientMapper clientMapper;
+  private final R2dbcEntityTemplate entityTemplate;
+
+  public Flux<ClientDTO> getAllClients() {
+    return clientRepository.findAll().map(clientMapper::toClientDTO);
+  }
+
+  public Mono<ClientDTO> createClient(ClientCreateOrUpdateDTO clientDTO) {
+    return isEmailDuplicated(clientDTO.getEmail())
+        .flatMap(duplicated -> {
+          if (duplicated) {
+            return Mono.error(
+                new DuplicateEmailException("Email already exists: " + clientDTO.getEmail()));
+          }
+          log.info("Creating new client.");
+          return clientRepository.save(clientMapper.clientCreateToClient(clientDTO));
+        })
+        .map(clientMapper::toClientDTO);
+  }
+
+  public Mono<ClientDTO> updateClient(Long id, String name, String email, String address,
+      Boolean active) {
+    if (name == null && email == null && address == null && active == null) {
+      log.error("At least one attribute should be provided for update.");
+      return Mono.error(new AttributeMismatchException(
+          "At least one attribute should be provided for update"));
+    }
+
+    return getClientById(id)
+        .flatMap(client -> {
+          log.info("Updating client with id: {}.", id);
+          if (email == null || email.equals(client.getEmail())) {
+            return Mono.just(client);
+          }
+          return isEmailDuplicated(email).flatMap(duplicated -> {
+            if (duplicated) {
+              log.error("Email already exists: {}.", email);
+              return Mono.error(new DuplicateEmailException("Email already exists: " + email));
+            }
+            return Mono.just(client);
+          });
+        })
+        .flatMap(client -> {
+          if (name != null) {
+            client.setName(name);
+          }
+          if (email != null) {
+            client.setEmail(email);
+          }
+          if (address != null) {
+            client.setAddress(address);
+          }
+          if (active != null) {
+            client.setActive(active);
+            client.setDeactivatedAt(active ? null : LocalDateTime.now());
+          }
+          log.info("Update finished.");
+          return clientRepository.save(client);
+        })
+        .map(clientMapper::toClientDTO);
+  }
+
+  private Mono<Boolean> isEmailDuplicated(String email) {
+    return clientRepository.findByEmail(email).hasElement();
+  }
+
+  public Flux<ClientDTO> searchClients(String field, String text) {
+    if (!FIELDS.contains(field.toLowerCase())) {
+      log.error("Search client with field '{}' is not supported.", field);
+      return Flux.error(new AttributeMismatchException(
+          "Search client with field '" + field + "' is not supported."));
+    }
+    if (text == null || text.length() < 3) {
+      log.error("Search client with text length less than 3 is not supported.");
+      return Flux.error(new AttributeMismatchException(
+          "Search client with text length less than 3 is not supported."));
+    }
+    log.info("Search client with '{}' that contains '{}'", field, text);
+    var criteria = Criteria.where(field.toLowerCase()).like("%" + text + "%").ignoreCase(true);
+    return entityTemplate.select(Client.class)
+        .matching(Query.query(criteria))
+        .all()
+        .map(clientMapper::toClientDTO);
+  }
+
+  public Mono<Client> getClientById(Long id) {
+    log.debug("Searching client with id: {}.", id);
+    return clientRepository.findById(id)
+        .switchIfEmpty(Mono.defer(() -> {
+          log.error("Client with id {} not found.", id);
+          return Mono.error(new ClientNotFoundException("Client with id " + id + " not found."));
+        }));
+  }
+
+  public Mono<BigDecimal> getProfitById(Long id) {
+    log.debug("Calculating profit for client with id: {}.", id);
+    return calculateClientProfit(id);
+  }
+
+  public Mono<BigDecimal> calculateClientProfit(Long clientId) {
+    return Mono.zip(orderRepository.sumSalesBySupplierId(clientId),
+            orderRepository.sumPurchasesByConsumerId(clientId))
+        .map(totals -> totals.getT1().subtract(totals.getT2()));
+  }
+
+  public Mono<Boolean> wouldExceedProfitLimit(Long clientId, BigDecimal amountToSubtract) {
+    return calculateClientProfit(clientId)
+        .map(currentProfit -> currentProfit.subtract(amountToSubtract).compareTo(limit) < 0);
+  }
+
+  public Flux<ClientWithProfitDTO> searchClientsInProfitRange(BigDecimal min, BigDecimal max) {
+    if (max.compareTo(min) < 0) {
+      log.error("Attribute 'max' should be greater than 'min'.");
+      return Flux.error(
+          new AttributeMismatchException("Attribute 'max' should be greater than 'min'."));
+    }
+    log.info("Collecting list of clients with profit range between {} and {}.", min, max);
+    return clientRepository.findWithProfitBetween(min, max);
+  }
+}
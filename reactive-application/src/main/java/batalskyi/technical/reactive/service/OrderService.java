@@ -0,0 +1,158 @@
+package batalskyi.technical.reactive.service;
+
+import batalskyi.technical.reactive.dto.OrderDTO;
+import batalskyi.technical.reactive.dto.OrderResponseDTO;
+import batalskyi.technical.reactive.entity.Client;
+import batalskyi.technical.reactive.entity.Order;
+import batalskyi.technical.reactive.exception.AttributeMismatchException;
+import batalskyi.technical.reactive.exception.ClientNotActiveException;
+import batalskyi.technical.reactive.exception.ClientProfitLimitExceededException;
+import batalskyi.technical.reactive.exception.DuplicateOrderException;
+import batalskyi.technical.reactive.exception.InvalidPriceException;
+import batalskyi.technical.reactive.mapper.OrderMapper;
+import batalskyi.technical.reactive.repository.OrderRepository;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Log4j2
+@Service
+@RequiredArgsConstructor
+public class OrderService {
+
+  @Value("${consumer.limit.value}")
+  private BigDecimal limit;
+
+  @Value("${order.processing.delay.min}")
+  private Duration minDelay;
+
+  @Value("${order.processing.delay.max}")
+  private Duration maxDelay;
+
+  private final OrderRepository orderRepository;
+  private final ClientService clientService;
+  private final OrderMapper orderMapper;
+  private final TransactionalOperator transactionalOperator;
+
+  public Mono<OrderResponseDTO> createOrder(OrderDTO orderDTO) {
+    return Mono.zip(clientService.getClientById(orderDTO.getSupplierId()),
+            clientService.getClientById(orderDTO.getConsumerId()))
+        .flatMap(clients -> validateOrder(orderDTO, clients.getT1(), clients.getT2()))
+        .then(Mono.defer(() -> {
+          var processingStartTime = LocalDateTime.now();
+          log.debug("Processing order.");
+          return Mono.delay(nextProcessingDelay())
+              .then(completeOrder(orderDTO, processingStartTime));
+        }));
+  }
+
+  private Duration nextProcessingDelay() {
+    return Duration.ofMillis(ThreadLocalRandom.current()
+        .nextLong(minDelay.toMillis(), maxDelay.toMillis() + 1));
+  }
+
+  private Mono<OrderResponseDTO> completeOrder(OrderDTO orderDTO,
+      LocalDateTime processingStartTime) {
+    return Mono.zip(clientService.getClientById(orderDTO.getSupplierId()),
+            clientService.getClientById(orderDTO.getConsumerId()))
+        .flatMap(clients -> {
+          checkClientsActivity(clients.getT1(), clients.getT2());
+          var order = new Order();
+          order.setTitle(orderDTO.getTitle());
+          order.setPrice(orderDTO.getPrice());
+          order.setSupplierId(orderDTO.getSupplierId());
+          order.setConsumerId(orderDTO.getConsumerId());
+          order.setProcessingStartTime(processingStartTime);
+          var now = LocalDateTime.now();
+          order.setProcessingEndTime(now);
+          order.setCreatedAt(now);
+          return orderRepository.save(order);
+        })
+        .as(transactionalOperator::transactional)
+        .map(orderMapper::toOrderResponseDto)
+        .onErrorMap(DataIntegrityViolationException.class, e -> {
+          log.error("Order with this business key already exists");
+          return new DuplicateOrderException("Order with this business key already exists");
+        });
+  }
+
+  private Mono<Void> validateOrder(OrderDTO orderDTO, Client supplier, Client consumer) {
+    log.debug("Validating order..");
+    var orderPrice = orderDTO.getPrice();
+    if (orderPrice.compareTo(BigDecimal.ZERO) <= 0) {
+      log.error("Order price is less than or equal to 1.");
+      return Mono.error(new InvalidPriceException("Order price must be equal or greater than 1"));
+    }
+
+    var supplierId = orderDTO.getSupplierId();
+    var consumerId = orderDTO.getConsumerId();
+
+    return orderRepository.existsByTitleAndSupplierIdAndConsumerId(orderDTO.getTitle(),
+            supplierId, consumerId)
+        .flatMap(exists -> {
+          if (exists) {
+            log.error("Order with business key already exists: {} + {} + {}",
+                orderDTO.getTitle(), supplierId, consumerId);
+            return Mono.error(
+                new DuplicateOrderException("Order with this business key already exists"));
+          }
+          if (supplierId.equals(consumerId)) {
+            log.error("Supplier Id and Consumer Id can't be the same.");
+            return Mono.error(new AttributeMismatchException(
+                "Supplier Id and Consumer Id cannot be the same"));
+          }
+          checkClientsActivity(supplier, consumer);
+          return clientService.wouldExceedProfitLimit(consumerId, orderPrice);
+        })
+        .flatMap(wouldExceed -> {
+          if (wouldExceed) {
+            log.error("Consumer's profit must not be less than {} after the order.", limit);
+            return Mono.error(
+                new ClientProfitLimitExceededException("Consumer's profit limit exceeded"));
+          }
+          log.debug("Validation finished.");
+          return Mono.empty();
+        });
+  }
+
+  private void checkClientsActivity(Client supplier, Client consumer) {
+    if (!consumer.isActive()) {
+      log.error("Consumer with id {} is not active.", consumer.getId());
+      throw new ClientNotActiveException("Consumer is not active");
+    }
+    if (!supplier.isActive()) {
+      log.error("Supplier with id {} is not active.", supplier.getId());
+      throw new ClientNotActiveException("Supplier is not active");
+    }
+  }
+
+  public Flux<OrderResponseDTO> getAllOrders() {
+    return orderRepository.findAll().map(orderMapper::toOrderResponseDto);
+  }
+
+  public Mono<Map<String, Object>> getAllOrdersByClientId(Long clientId) {
+    log.info("Collecting client's orders.");
+    return Mono.zip(
+            orderRepository.findBySupplierId(clientId).map(orderMapper::toOrderResponseDto)
+                .collectList(),
+            orderRepository.findByConsumerId(clientId).map(orderMapper::toOrderResponseDto)
+                .collectList())
+        .map(orders -> {
+          Map<String, Object> result = new HashMap<>();
+          result.put("sales", orders.getT1());
+          result.put("purchases", orders.getT2());
+          return result;
+        });
+  }
+}
@@ -0,0 +1,20 @@
+create table if not exists clients (
+  id bigint generated by default as identity primary key,
+  name varchar(255),
+  email varchar(255) not null unique,
+  address varchar(255),
+  active boolean not null,
+  deactivated_at timestamp(6)
+);
+
+create table if not exists orders (
+  id bigint generated by default as identity primary key,
+  title varchar(255),
+  supplier_id bigint not null references clients (id),
+  consumer_id bigint not null references clients (id),
+  price numeric(38, 2) not null,
+  processing_start_time timestamp(6),
+  processing_end_time timestamp(6),
+  created_at timestamp(6) not null,
+  constraint uk_orders_business_key unique (title, supplier_id, consumer_id)
+);
@@ -17,7 +17,9 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
@@ -28,15 +30,31 @@ public class Scenario1TestClient implements CommandLineRunner {
 
   @Value("${order.service.url}")
   private String baseUrl;
-  private final RestTemplate restTemplate = new RestTemplate();
+  @Value("${order.service.wire-format}")
+  private MediaType wireFormat;
+  private final RestTemplate restTemplate = createRestTemplate();
 
   public static void main(String[] args) {
     SpringApplication.run(Scenario1TestClient.class, args);
     Runtime.getRuntime().halt(0);
   }
 
+  private static RestTemplate createRestTemplate() {
+    var restTemplate = new RestTemplate();
+    restTemplate.getMessageConverters().add(new MappingJackson2CborHttpMessageConverter());
+    return restTemplate;
+  }
+
+  private HttpHeaders wireFormatHeaders() {
+    var headers = new HttpHeaders();
+    headers.setContentType(wireFormat);
+    headers.setAccept(List.of(wireFormat));
+    return headers;
+  }
+
   @Override
   public void run(String... args) {
+    var startTime = System.nanoTime();
     log.info("=== Automation Scenario 1 run: N+1 equal orders ===");
 
     var randomInt = new Random().nextInt(1, 1000);
@@ -45,7 +63,8 @@ public class Scenario1TestClient implements CommandLineRunner {
 
     testDuplicateOrdersScenario(supplierId, consumerId);
 
-    log.info("=== Scenario 1 completed ===");
+    log.info("=== Scenario 1 completed in {} ms against {} ===",
+        (System.nanoTime() - startTime) / 1_000_000, baseUrl);
   }
 
   private void testDuplicateOrdersScenario(Long supplierId, Long consumerId) {
@@ -92,19 +111,13 @@ public class Scenario1TestClient implements CommandLineRunner {
 
   private Long createTestClient(String name, String email) {
     try {
-      var headers = new HttpHeaders();
-      headers.setContentType(MediaType.APPLICATION_JSON);
-
-      var requestBody = String.format("""
-          {
-              "name": "%s",
-              "email": "%s",
-              "address": "Test Address",
-              "active": "true"
-          }
-          """, name, email);
-
-      var request = new HttpEntity<>(requestBody, headers);
+      Map<String, Object> requestBody = Map.of(
+          "name", name,
+          "email", email,
+          "address", "Test Address",
+          "active", true);
+
+      var request = new HttpEntity<>(requestBody, wireFormatHeaders());
       var response = restTemplate.postForEntity(
           baseUrl + "/clients/createClient", request, Map.class);
 
@@ -118,19 +131,13 @@ public class Scenario1TestClient implements CommandLineRunner {
   }
 
   private void createOrder(Long supplierId, Long consumerId) {
-    var headers = new HttpHeaders();
-    headers.setContentType(MediaType.APPLICATION_JSON);
-
-    var requestBody = String.format("""
-        {
-            "title": "Test Order Duplicate",
-            "supplierId": %d,
-            "consumerId": %d,
-            "price": %s
-        }
-        """, supplierId, consumerId, BigDecimal.ONE);
+    Map<String, Object> requestBody = Map.of(
+        "title", "Test Order Duplicate",
+        "supplierId", supplierId,
+        "consumerId", consumerId,
+        "price", BigDecimal.ONE);
 
-    var request = new HttpEntity<>(requestBody, headers);
+    var request = new HttpEntity<>(requestBody, wireFormatHeaders());
 
     try {
       restTemplate.postForEntity(
@@ -162,9 +169,9 @@ public class Scenario1TestClient implements CommandLineRunner {
 
   private BigDecimal getClientProfit(Long clientId) {
     try {
-      var response = restTemplate.getForEntity(
-          baseUrl + "/clients/getProfit/" + clientId, String.class);
-      return new BigDecimal(Objects.requireNonNull(response.getBody()));
+      var response = restTemplate.exchange(baseUrl + "/clients/getProfit/" + clientId,
+          HttpMethod.GET, new HttpEntity<>(wireFormatHeaders()), BigDecimal.class);
+      return Objects.requireNonNull(response.getBody());
     } catch (Exception e) {
       log.error("Error getting client profit {}: {}", clientId, e.getMessage());
       return BigDecimal.ZERO;
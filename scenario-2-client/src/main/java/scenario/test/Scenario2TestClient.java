@@ -17,7 +17,9 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
@@ -28,15 +30,31 @@ public class Scenario2TestClient implements CommandLineRunner {
 
   @Value("${order.service.url}")
   private String baseUrl;
-  private final RestTemplate restTemplate = new RestTemplate();
+  @Value("${order.service.wire-format}")
+  private MediaType wireFormat;
+  private final RestTemplate restTemplate = createRestTemplate();
 
   public static void main(String[] args) {
     SpringApplication.run(Scenario2TestClient.class, args);
     Runtime.getRuntime().halt(0);
   }
 
+  private static RestTemplate createRestTemplate() {
+    var restTemplate = new RestTemplate();
+    restTemplate.getMessageConverters().add(new MappingJackson2CborHttpMessageConverter());
+    return restTemplate;
+  }
+
+  private HttpHeaders wireFormatHeaders() {
+    var headers = new HttpHeaders();
+    headers.setContentType(wireFormat);
+    headers.setAccept(List.of(wireFormat));
+    return headers;
+  }
+
   @Override
   public void run(String... args) {
+    var startTime = System.nanoTime();
     log.info("=== Automation Scenario 2 run: Profit limitation -1000 ===");
 
     var randomInt = new Random().nextInt(1, 1000);
@@ -47,7 +65,8 @@ public class Scenario2TestClient implements CommandLineRunner {
 
     testProfitLimitScenario(supplierId, consumerId);
 
-    log.info("=== Scenario 2 completed ===");
+    log.info("=== Scenario 2 completed in {} ms against {} ===",
+        (System.nanoTime() - startTime) / 1_000_000, baseUrl);
   }
 
   private void testProfitLimitScenario(Long supplierId, Long consumerId) {
@@ -144,19 +163,13 @@ public class Scenario2TestClient implements CommandLineRunner {
 
   private Long createTestClient(String name, String email) {
     try {
-      var headers = new HttpHeaders();
-      headers.setContentType(MediaType.APPLICATION_JSON);
-
-      var requestBody = String.format("""
-          {
-              "name": "%s",
-              "email": "%s",
-              "address": "Test Address",
-              "active": "true"
-          }
-          """, name, email);
-
-      var request = new HttpEntity<>(requestBody, headers);
+      Map<String, Object> requestBody = Map.of(
+          "name", name,
+          "email", email,
+          "address", "Test Address",
+          "active", true);
+
+      var request = new HttpEntity<>(requestBody, wireFormatHeaders());
       var response = restTemplate.postForEntity(
           baseUrl + "/clients/createClient", request, Map.class);
 
@@ -170,19 +183,13 @@ public class Scenario2TestClient implements CommandLineRunner {
   }
 
   private void createOrder(String title, Long supplierId, Long consumerId, BigDecimal price) {
-    var headers = new HttpHeaders();
-    headers.setContentType(MediaType.APPLICATION_JSON);
-
-    var requestBody = String.format("""
-        {
-            "title": "%s",
-            "supplierId": %d,
-            "consumerId": %d,
-            "price": %s
-        }
-        """, title, supplierId, consumerId, price.toString());
+    Map<String, Object> requestBody = Map.of(
+        "title", title,
+        "supplierId", supplierId,
+        "consumerId", consumerId,
+        "price", price);
 
-    var request = new HttpEntity<>(requestBody, headers);
+    var request = new HttpEntity<>(requestBody, wireFormatHeaders());
 
     try {
       var response = restTemplate.postForEntity(
@@ -196,9 +203,9 @@ public class Scenario2TestClient implements CommandLineRunner {
 
   private BigDecimal getClientProfit(Long clientId) {
     try {
-      var response = restTemplate.getForEntity(
-          baseUrl + "/clients/getProfit/" + clientId, String.class);
-      return new BigDecimal(Objects.requireNonNull(response.getBody()));
+      var response = restTemplate.exchange(baseUrl + "/clients/getProfit/" + clientId,
+          HttpMethod.GET, new HttpEntity<>(wireFormatHeaders()), BigDecimal.class);
+      return Objects.requireNonNull(response.getBody());
     } catch (Exception e) {
       log.error("Error retrieving client's profit {}: {}", clientId, e.getMessage());
       return BigDecimal.ZERO;
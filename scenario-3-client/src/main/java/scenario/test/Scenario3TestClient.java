@@ -1,7 +1,12 @@
 package scenario.test;
 
 import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -17,8 +22,10 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
@@ -29,15 +36,35 @@ public class Scenario3TestClient implements CommandLineRunner {
 
   @Value("${order.service.url}")
   private String baseUrl;
-  private final RestTemplate restTemplate = new RestTemplate();
+  @Value("${order.service.wire-format}")
+  private MediaType wireFormat;
+  @Value("${order.service.wire-cost.warmup}")
+  private int wireCostWarmup;
+  @Value("${order.service.wire-cost.runs}")
+  private int wireCostRuns;
+  private final RestTemplate restTemplate = createRestTemplate();
 
   public static void main(String[] args) {
     SpringApplication.run(Scenario3TestClient.class, args);
     Runtime.getRuntime().halt(0);
   }
 
+  private static RestTemplate createRestTemplate() {
+    var restTemplate = new RestTemplate();
+    restTemplate.getMessageConverters().add(new MappingJackson2CborHttpMessageConverter());
+    return restTemplate;
+  }
+
+  private HttpHeaders wireFormatHeaders() {
+    var headers = new HttpHeaders();
+    headers.setContentType(wireFormat);
+    headers.setAccept(List.of(wireFormat));
+    return headers;
+  }
+
   @Override
   public void run(String... args) {
+    var startTime = System.nanoTime();
     log.info(
         "=== Automation Scenario 3 run: Client deactivation during order processing ===");
 
@@ -47,7 +74,8 @@ public class Scenario3TestClient implements CommandLineRunner {
 
     testClientDeactivationScenario(supplierId, consumerId);
 
-    log.info("=== Scenario 3 completed ===");
+    log.info("=== Scenario 3 completed in {} ms against {} ===",
+        (System.nanoTime() - startTime) / 1_000_000, baseUrl);
   }
 
   private void testClientDeactivationScenario(Long supplierId, Long consumerId) {
@@ -121,6 +149,7 @@ public class Scenario3TestClient implements CommandLineRunner {
 
     checkFinalState(supplierId, consumerId);
     listCreatedOrders(consumerId);
+    measureWireCost(consumerId);
   }
 
   private void deactivateClient(Long clientId) {
@@ -166,8 +195,8 @@ public class Scenario3TestClient implements CommandLineRunner {
 
   private void listCreatedOrders(Long clientId) {
     try {
-      var response = restTemplate.getForEntity(
-          baseUrl + "/orders/getOrdersForClient/" + clientId, Map.class);
+      var response = restTemplate.exchange(baseUrl + "/orders/getOrdersForClient/" + clientId,
+          HttpMethod.GET, new HttpEntity<>(wireFormatHeaders()), Map.class);
 
       @SuppressWarnings("unchecked")
       var purchases = (List<Map<String, Object>>) Objects.requireNonNull(response.getBody())
@@ -189,10 +218,61 @@ public class Scenario3TestClient implements CommandLineRunner {
     }
   }
 
+  private void measureWireCost(Long clientId) {
+    log.info("=== WIRE COST (median of {} runs after {} warm-up runs) ===", wireCostRuns,
+        wireCostWarmup);
+    var urls = List.of(baseUrl + "/orders/getAllOrders",
+        baseUrl + "/orders/getOrdersForClient/" + clientId);
+    for (var version : List.of(HttpClient.Version.HTTP_1_1, HttpClient.Version.HTTP_2)) {
+      var httpClient = HttpClient.newBuilder().version(version).build();
+      for (var url : urls) {
+        for (var encoding : List.of("identity", "gzip")) {
+          measureRequests(httpClient, url, encoding);
+        }
+      }
+    }
+  }
+
+  private void measureRequests(HttpClient httpClient, String url, String encoding) {
+    var request = HttpRequest.newBuilder(URI.create(url))
+        .header(HttpHeaders.ACCEPT, wireFormat.toString())
+        .header(HttpHeaders.ACCEPT_ENCODING, encoding)
+        .GET()
+        .build();
+    try {
+      // the first requests open the connection, upgrade to h2c and warm up both JVMs
+      for (var i = 0; i < wireCostWarmup; i++) {
+        httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+      }
+      var bytes = new long[wireCostRuns];
+      var nanos = new long[wireCostRuns];
+      HttpResponse<byte[]> response = null;
+      for (var i = 0; i < wireCostRuns; i++) {
+        var start = System.nanoTime();
+        response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        nanos[i] = System.nanoTime() - start;
+        bytes[i] = response.body().length;
+      }
+      log.info("{} {} [{}, Content-Encoding={}]: {} bytes on the wire in {} ms",
+          response.version(), url, encoding,
+          response.headers().firstValue(HttpHeaders.CONTENT_ENCODING).orElse("none"),
+          median(bytes), String.format("%.2f", median(nanos) / 1_000_000.0));
+    } catch (Exception e) {
+      log.error("Error measuring {}: {}", url, e.getMessage());
+    }
+  }
+
+  private static long median(long[] values) {
+    var sorted = values.clone();
+    Arrays.sort(sorted);
+    var middle = sorted.length / 2;
+    return sorted.length % 2 == 1 ? sorted[middle] : (sorted[middle - 1] + sorted[middle]) / 2;
+  }
+
   private boolean isClientActive(Long clientId) {
     try {
-      var response = restTemplate.getForEntity(
-          baseUrl + "/clients/getClient/" + clientId, Map.class);
+      var response = restTemplate.exchange(baseUrl + "/clients/getClient/" + clientId,
+          HttpMethod.GET, new HttpEntity<>(wireFormatHeaders()), Map.class);
       return Boolean.TRUE.equals(Objects.requireNonNull(response.getBody()).get("active"));
     } catch (Exception e) {
       log.error("Error checking client status {}: {}", clientId, e.getMessage());
@@ -202,19 +282,13 @@ public class Scenario3TestClient implements CommandLineRunner {
 
   private Long createTestClient(String name, String email) {
     try {
-      var headers = new HttpHeaders();
-      headers.setContentType(MediaType.APPLICATION_JSON);
-
-      var requestBody = String.format("""
-          {
-              "name": "%s",
-              "email": "%s",
-              "address": "Test Address",
-              "active": "true"
-          }
-          """, name, email);
-
-      var request = new HttpEntity<>(requestBody, headers);
+      Map<String, Object> requestBody = Map.of(
+          "name", name,
+          "email", email,
+          "address", "Test Address",
+          "active", true);
+
+      var request = new HttpEntity<>(requestBody, wireFormatHeaders());
       var response = restTemplate.postForEntity(
           baseUrl + "/clients/createClient", request, Map.class);
 
@@ -228,19 +302,13 @@ public class Scenario3TestClient implements CommandLineRunner {
   }
 
   private void createOrder(String title, Long supplierId, Long consumerId, BigDecimal price) {
-    var headers = new HttpHeaders();
-    headers.setContentType(MediaType.APPLICATION_JSON);
-
-    var requestBody = String.format("""
-        {
-            "title": "%s",
-            "supplierId": %d,
-            "consumerId": %d,
-            "price": %s
-        }
-        """, title, supplierId, consumerId, price.toString());
+    Map<String, Object> requestBody = Map.of(
+        "title", title,
+        "supplierId", supplierId,
+        "consumerId", consumerId,
+        "price", price);
 
-    var request = new HttpEntity<>(requestBody, headers);
+    var request = new HttpEntity<>(requestBody, wireFormatHeaders());
 
     try {
       var response = restTemplate.postForEntity(
@@ -254,9 +322,9 @@ public class Scenario3TestClient implements CommandLineRunner {
 
   private BigDecimal getClientProfit(Long clientId) {
     try {
-      var response = restTemplate.getForEntity(
-          baseUrl + "/clients/getProfit/" + clientId, String.class);
-      return new BigDecimal(Objects.requireNonNull(response.getBody()));
+      var response = restTemplate.exchange(baseUrl + "/clients/getProfit/" + clientId,
+          HttpMethod.GET, new HttpEntity<>(wireFormatHeaders()), BigDecimal.class);
+      return Objects.requireNonNull(response.getBody());
     } catch (Exception e) {
       log.error("Error getting client profit {}: {}", clientId, e.getMessage());
       return BigDecimal.ZERO;